@@ -17,10 +17,6 @@ package org.reaktivity.nukleus.maven.plugin.internal;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URI;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
@@ -42,6 +38,12 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
     @Parameter(required = true)
     protected String scopeNames;
 
+    @Parameter(defaultValue = "1")
+    protected int parallelism;
+
+    @Parameter(defaultValue = "${project.build.directory}/reaktivity-ast-cache")
+    protected File astCacheDirectory;
+
     private Parser parser = new Parser()
             .debug(getLog()::debug)
             .error(getLog()::error)
@@ -52,23 +54,23 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
     protected final List<AstSpecificationNode> parseAST(
         List<String> targetScopes) throws IOException
     {
-        return parser.parseAST(targetScopes, createLoader());
+        return parser.parallelism(parallelism)
+                     .cache(astCacheDirectory != null ? new AstCache(astCacheDirectory.toPath()) : null)
+                     .parseAST(targetScopes, createLoader());
     }
 
     ClassLoader createLoader() throws IOException
     {
-        List<URL> resourcePath = new LinkedList<>();
+        ResourceIndex index = new ResourceIndex(getLog()::warn);
 
-        resourcePath.add(inputDirectory.getAbsoluteFile().toURI().toURL());
-        resourcePath.add(metaDirectory.getAbsoluteFile().toURI().toURL());
+        index.addDirectory(inputDirectory);
+        index.addDirectory(metaDirectory);
 
         try
         {
             for (Object resourcePathEntry : project.getTestClasspathElements())
             {
-                File resourcePathFile = new File(resourcePathEntry.toString());
-                URI resourcePathURI = resourcePathFile.getAbsoluteFile().toURI();
-                resourcePath.add(URI.create(String.format("jar:%s!/META-INF/reaktivity/", resourcePathURI)).toURL());
+                index.addClasspathElement(new File(resourcePathEntry.toString()));
             }
         }
         catch (DependencyResolutionRequiredException e)
@@ -76,9 +78,9 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
             throw new IOException(e);
         }
 
-        getLog().debug("resource path: " + resourcePath);
+        getLog().debug(String.format("resource index: %d resources", index.size()));
 
         ClassLoader parent = getClass().getClassLoader();
-        return new URLClassLoader(resourcePath.toArray(new URL[resourcePath.size()]), parent);
+        return index.newClassLoader(parent);
     }
 }
@@ -0,0 +1,156 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
+
+final class AstCache
+{
+    private static final ObjectInputFilter AST_FILTER = ObjectInputFilter.Config.createFilter(
+        "org.reaktivity.nukleus.maven.plugin.internal.ast.*;java.lang.*;java.util.*;!*");
+
+    private final Path directory;
+    private final AtomicInteger hits;
+    private final AtomicInteger misses;
+
+    AstCache(
+        Path directory)
+    {
+        this.directory = directory;
+        this.hits = new AtomicInteger();
+        this.misses = new AtomicInteger();
+    }
+
+    AstSpecificationNode lookup(
+        URL resource,
+        String digest)
+    {
+        Path entry = entry(resource, digest);
+        AstSpecificationNode specification = null;
+
+        if (Files.isRegularFile(entry))
+        {
+            try (InputStream input = Files.newInputStream(entry))
+            {
+                specification = readSpecification(input);
+            }
+            catch (IOException ex)
+            {
+                specification = null;
+            }
+        }
+
+        if (specification != null)
+        {
+            hits.incrementAndGet();
+        }
+        else
+        {
+            misses.incrementAndGet();
+        }
+
+        return specification;
+    }
+
+    void store(
+        URL resource,
+        String digest,
+        AstSpecificationNode specification) throws IOException
+    {
+        Files.createDirectories(directory);
+
+        Path entry = entry(resource, digest);
+        Path partial = Files.createTempFile(directory, entry.getFileName().toString(), ".partial");
+        try
+        {
+            try (OutputStream output = Files.newOutputStream(partial))
+            {
+                writeSpecification(output, specification);
+            }
+
+            try
+            {
+                Files.move(partial, entry, ATOMIC_MOVE, REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException ex)
+            {
+                Files.move(partial, entry, REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    static AstSpecificationNode readSpecification(
+        InputStream input)
+    {
+        AstSpecificationNode specification;
+        try
+        {
+            ObjectInputStream objects = new ObjectInputStream(input);
+            objects.setObjectInputFilter(AST_FILTER);
+            specification = (AstSpecificationNode) objects.readObject();
+        }
+        catch (IOException | ClassNotFoundException | ClassCastException ex)
+        {
+            specification = null;
+        }
+        return specification;
+    }
+
+    static void writeSpecification(
+        OutputStream output,
+        AstSpecificationNode specification) throws IOException
+    {
+        ObjectOutputStream objects = new ObjectOutputStream(output);
+        objects.writeObject(specification);
+        objects.flush();
+    }
+
+    int hits()
+    {
+        return hits.get();
+    }
+
+    int misses()
+    {
+        return misses.get();
+    }
+
+    private Path entry(
+        URL resource,
+        String digest)
+    {
+        return directory.resolve(Digests.sha256(Digests.plugin(), resource.toString(), digest) + ".ast");
+    }
+}
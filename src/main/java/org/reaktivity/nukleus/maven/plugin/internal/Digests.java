@@ -0,0 +1,120 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+final class Digests
+{
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    static String plugin()
+    {
+        return PluginDigest.VALUE;
+    }
+
+    static String sha256(
+        byte[] content)
+    {
+        return toHex(newDigest().digest(content));
+    }
+
+    static String sha256(
+        String... values)
+    {
+        MessageDigest digest = newDigest();
+        for (String value : values)
+        {
+            digest.update(String.valueOf(value).getBytes(UTF_8));
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest());
+    }
+
+    static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex)
+        {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static String toHex(
+        byte[] bytes)
+    {
+        char[] hex = new char[bytes.length << 1];
+        for (int i = 0; i < bytes.length; i++)
+        {
+            hex[i << 1] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            hex[(i << 1) + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    private Digests()
+    {
+    }
+
+    private static final class PluginDigest
+    {
+        private static final String VALUE = pluginDigest();
+
+        private static String pluginDigest()
+        {
+            try
+            {
+                CodeSource source = Digests.class.getProtectionDomain().getCodeSource();
+                Path location = Paths.get(source.getLocation().toURI());
+
+                List<Path> paths;
+                try (Stream<Path> walk = Files.walk(location))
+                {
+                    paths = walk.filter(Files::isRegularFile).sorted().collect(toList());
+                }
+
+                MessageDigest digest = newDigest();
+                for (Path path : paths)
+                {
+                    digest.update(location.relativize(path).toString().getBytes(UTF_8));
+                    digest.update(Files.readAllBytes(path));
+                }
+                return toHex(digest.digest());
+            }
+            catch (IOException | URISyntaxException | RuntimeException ex)
+            {
+                // unable to fingerprint the plugin, so never reuse state recorded by a previous build
+                return UUID.randomUUID().toString();
+            }
+        }
+    }
+}
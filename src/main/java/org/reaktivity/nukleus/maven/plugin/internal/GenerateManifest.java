@@ -0,0 +1,201 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+final class GenerateManifest
+{
+    private static final String HEADER = "# nukleus-maven-plugin generate manifest v1";
+    private static final String MISSING = "-";
+
+    private final String plugin;
+    private final String config;
+    private final SortedMap<String, String> digests;
+    private final SortedSet<String> outputs;
+
+    private String options = MISSING;
+
+    GenerateManifest(
+        String config)
+    {
+        this(Digests.plugin(), config);
+    }
+
+    private GenerateManifest(
+        String plugin,
+        String config)
+    {
+        this.plugin = plugin;
+        this.config = config;
+        this.digests = new TreeMap<>();
+        this.outputs = new TreeSet<>();
+    }
+
+    void options(
+        String options)
+    {
+        this.options = options;
+    }
+
+    void resource(
+        String resourceName,
+        String digest)
+    {
+        digests.put(resourceName, digest != null ? digest : MISSING);
+    }
+
+    void output(
+        String outputName)
+    {
+        outputs.add(outputName);
+    }
+
+    SortedSet<String> outputs()
+    {
+        return outputs;
+    }
+
+    boolean sameConfig(
+        GenerateManifest that)
+    {
+        return Objects.equals(this.config, that.config);
+    }
+
+    boolean isUpToDate(
+        String config,
+        String options,
+        ClassLoader loader,
+        Path outputDirectory) throws IOException
+    {
+        if (!Digests.plugin().equals(plugin) || !this.config.equals(config) || !this.options.equals(options) ||
+            digests.isEmpty())
+        {
+            return false;
+        }
+
+        for (Map.Entry<String, String> entry : digests.entrySet())
+        {
+            URL resource = loader.getResource(entry.getKey());
+            String digest = resource != null ? Digests.sha256(Parser.readResource(resource)) : MISSING;
+            if (!digest.equals(entry.getValue()))
+            {
+                return false;
+            }
+        }
+
+        for (String output : outputs)
+        {
+            if (!Files.isRegularFile(outputDirectory.resolve(output)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    void write(
+        Path path) throws IOException
+    {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path, UTF_8))
+        {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.write(String.format("plugin %s", plugin));
+            writer.newLine();
+            writer.write(String.format("config %s", config));
+            writer.newLine();
+            writer.write(String.format("options %s", options));
+            writer.newLine();
+            for (Map.Entry<String, String> entry : digests.entrySet())
+            {
+                writer.write(String.format("resource %s %s", entry.getValue(), entry.getKey()));
+                writer.newLine();
+            }
+            for (String output : outputs)
+            {
+                writer.write(String.format("output %s", output));
+                writer.newLine();
+            }
+        }
+    }
+
+    static GenerateManifest read(
+        Path path) throws IOException
+    {
+        if (!Files.isRegularFile(path))
+        {
+            return null;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(path, UTF_8))
+        {
+            if (!HEADER.equals(reader.readLine()))
+            {
+                return null;
+            }
+
+            String plugin = null;
+            String config = null;
+            GenerateManifest manifest = null;
+            for (String line = reader.readLine(); line != null; line = reader.readLine())
+            {
+                String[] fields = line.split(" ", 3);
+                switch (fields[0])
+                {
+                case "plugin":
+                    plugin = fields[1];
+                    break;
+                case "config":
+                    config = fields[1];
+                    manifest = new GenerateManifest(plugin, config);
+                    break;
+                case "options":
+                    manifest.options(fields[1]);
+                    break;
+                case "resource":
+                    manifest.resource(fields[2], fields[1]);
+                    break;
+                case "output":
+                    manifest.output(fields[1]);
+                    break;
+                default:
+                    return null;
+                }
+            }
+            return manifest;
+        }
+        catch (RuntimeException ex)
+        {
+            return null;
+        }
+    }
+}
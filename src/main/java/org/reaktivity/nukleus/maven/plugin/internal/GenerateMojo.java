@@ -21,6 +21,7 @@ import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE;
 import java.io.File;
 import java.io.IOException;
 
+import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -29,7 +30,8 @@ import org.apache.maven.plugins.annotations.Parameter;
 @Mojo(name = "generate",
       defaultPhase = GENERATE_SOURCES,
       requiresDependencyResolution = COMPILE,
-      requiresProject = true)
+      requiresProject = true,
+      threadSafe = true)
 public final class GenerateMojo extends AbstractMojo
 {
     @Parameter(defaultValue = "")
@@ -38,6 +40,42 @@ public final class GenerateMojo extends AbstractMojo
     @Parameter(defaultValue = "${project.build.directory}/generated-sources/reaktivity")
     protected File outputDirectory;
 
+    @Parameter(defaultValue = "false")
+    protected boolean force;
+
+    @Parameter(defaultValue = "${project.build.directory}")
+    protected File reportDirectory;
+
+    @Parameter(defaultValue = "false")
+    protected boolean reachableOnly;
+
+    @Parameter(defaultValue = "false")
+    protected boolean layoutReport;
+
+    @Parameter(defaultValue = "0")
+    protected int estimatedMethodBudget;
+
+    @Parameter(defaultValue = "false")
+    protected boolean lazyListWrap;
+
+    @Parameter(defaultValue = "false")
+    protected boolean lazyStructWrap;
+
+    @Parameter
+    protected String rootTypes;
+
+    @Parameter
+    protected String corePackageName;
+
+    @Parameter(defaultValue = "false")
+    protected boolean coreOnly;
+
+    @Parameter(defaultValue = "true")
+    protected boolean publishSchemas;
+
+    @Parameter(defaultValue = "${project.build.directory}/generated-resources/reaktivity")
+    protected File schemaDirectory;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException
     {
@@ -62,7 +100,37 @@ public final class GenerateMojo extends AbstractMojo
         generator.setInputDirectory(inputDirectory);
         generator.setOutputDirectory(outputDirectory);
         generator.setScopeNames(scopeNames);
+        generator.setForce(force);
+        generator.setParallelism(parallelism);
+        generator.setAstCacheDirectory(astCacheDirectory);
+        generator.setReportDirectory(reportDirectory);
+        generator.setReachableOnly(reachableOnly);
+        generator.setLayoutReport(layoutReport);
+        generator.setEstimatedMethodBudget(estimatedMethodBudget);
+        generator.setLazyListWrap(lazyListWrap);
+        generator.setLazyStructWrap(lazyStructWrap);
+        generator.setRootTypes(rootTypes);
+        generator.setCorePackageName(corePackageName);
+        generator.setCoreOnly(coreOnly);
         generator.generate(createLoader());
         project.addCompileSourceRoot(outputDirectory.getPath());
+
+        if (coreOnly)
+        {
+            generator.publishCoreVersion(schemaDirectory);
+        }
+
+        boolean publish = publishSchemas && metaDirectory.isDirectory();
+        if (publish)
+        {
+            generator.publishSchemas(metaDirectory, schemaDirectory);
+        }
+
+        if (publish || coreOnly)
+        {
+            Resource schemas = new Resource();
+            schemas.setDirectory(schemaDirectory.getPath());
+            project.addResource(schemas);
+        }
     }
 }
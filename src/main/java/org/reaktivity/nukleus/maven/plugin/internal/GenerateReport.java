@@ -0,0 +1,218 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparingInt;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class GenerateReport
+{
+    private static final int SUMMARY_LIMIT = 20;
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<String, Long> scopes = new LinkedHashMap<>();
+    private final List<TypeTiming> types = new ArrayList<>();
+    private final List<MethodSize> methods = new ArrayList<>();
+
+    void phase(
+        String name,
+        long nanos)
+    {
+        phases.merge(name, nanos, Long::sum);
+    }
+
+    void scope(
+        String name,
+        long nanos)
+    {
+        scopes.merge(name, nanos, Long::sum);
+    }
+
+    void type(
+        String className,
+        long nanos,
+        int bytes)
+    {
+        types.add(new TypeTiming(className, nanos, bytes));
+    }
+
+    void method(
+        String typeName,
+        String methodName,
+        int bytes)
+    {
+        methods.add(new MethodSize(typeName, methodName, bytes));
+    }
+
+    int methods()
+    {
+        return methods.size();
+    }
+
+    void write(
+        Path jsonPath,
+        Path summaryPath) throws IOException
+    {
+        Files.createDirectories(jsonPath.toAbsolutePath().getParent());
+        Files.write(jsonPath, toJson().getBytes(UTF_8));
+        Files.createDirectories(summaryPath.toAbsolutePath().getParent());
+        Files.write(summaryPath, toSummary().getBytes(UTF_8));
+    }
+
+    String toJson()
+    {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"phases\": {");
+        appendMillis(json, phases);
+        json.append("},\n");
+        json.append("  \"scopes\": {");
+        appendMillis(json, scopes);
+        json.append("},\n");
+        json.append("  \"types\": [");
+        for (int i = 0; i < types.size(); i++)
+        {
+            TypeTiming type = types.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    { \"name\": ").append(quote(type.className))
+                .append(", \"millis\": ").append(millis(type.nanos))
+                .append(", \"bytes\": ").append(type.bytes)
+                .append(" }");
+        }
+        json.append(types.isEmpty() ? "],\n" : "\n  ],\n");
+        json.append("  \"methodsOverBudget\": [");
+        for (int i = 0; i < methods.size(); i++)
+        {
+            MethodSize method = methods.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    { \"type\": ").append(quote(method.typeName))
+                .append(", \"method\": ").append(quote(method.methodName))
+                .append(", \"estimatedBytes\": ").append(method.bytes)
+                .append(" }");
+        }
+        json.append(methods.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    String toSummary()
+    {
+        long totalBytes = 0L;
+        long totalNanos = 0L;
+        for (TypeTiming type : types)
+        {
+            totalBytes += type.bytes;
+            totalNanos += type.nanos;
+        }
+
+        StringBuilder summary = new StringBuilder();
+        summary.append("Phases\n");
+        phases.forEach((n, t) -> summary.append(String.format("  %-40s %10s ms%n", n, millis(t))));
+        summary.append("Scopes\n");
+        scopes.forEach((n, t) -> summary.append(String.format("  %-40s %10s ms%n", n, millis(t))));
+        summary.append(String.format("Types%n  %d generated, %d bytes, %s ms%n", types.size(), totalBytes, millis(totalNanos)));
+
+        List<TypeTiming> slowest = new ArrayList<>(types);
+        slowest.sort(Collections.reverseOrder(comparingLong(t -> t.nanos)));
+        summary.append("Slowest types\n");
+        slowest.stream().limit(SUMMARY_LIMIT)
+               .forEach(t -> summary.append(String.format("  %-80s %10s ms%n", t.className, millis(t.nanos))));
+
+        List<TypeTiming> largest = new ArrayList<>(types);
+        largest.sort(Collections.reverseOrder(comparingInt(t -> t.bytes)));
+        summary.append("Largest types\n");
+        largest.stream().limit(SUMMARY_LIMIT)
+               .forEach(t -> summary.append(String.format("  %-80s %10d bytes%n", t.className, t.bytes)));
+
+        List<MethodSize> largestMethods = new ArrayList<>(methods);
+        largestMethods.sort(Collections.reverseOrder(comparingInt(m -> m.bytes)));
+        summary.append(String.format("Methods estimated over budget%n  %d estimated over budget%n", methods.size()));
+        largestMethods.stream().limit(SUMMARY_LIMIT)
+               .forEach(m -> summary.append(String.format("  %-80s ~%9d bytes%n", m.typeName + "." + m.methodName, m.bytes)));
+
+        return summary.toString();
+    }
+
+    private static void appendMillis(
+        StringBuilder json,
+        Map<String, Long> timings)
+    {
+        String separator = " ";
+        for (Map.Entry<String, Long> entry : timings.entrySet())
+        {
+            json.append(separator).append(quote(entry.getKey())).append(": ").append(millis(entry.getValue()));
+            separator = ", ";
+        }
+        json.append(timings.isEmpty() ? "" : " ");
+    }
+
+    private static String millis(
+        long nanos)
+    {
+        return String.format("%d.%03d", NANOSECONDS.toMillis(nanos), NANOSECONDS.toMicros(nanos) % 1000);
+    }
+
+    private static String quote(
+        String value)
+    {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static final class TypeTiming
+    {
+        private final String className;
+        private final long nanos;
+        private final int bytes;
+
+        private TypeTiming(
+            String className,
+            long nanos,
+            int bytes)
+        {
+            this.className = className;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class MethodSize
+    {
+        private final String typeName;
+        private final String methodName;
+        private final int bytes;
+
+        private MethodSize(
+            String typeName,
+            String methodName,
+            int bytes)
+        {
+            this.typeName = typeName;
+            this.methodName = methodName;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -15,20 +15,46 @@
  */
 package org.reaktivity.nukleus.maven.plugin.internal;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstType;
@@ -50,6 +76,8 @@ import org.reaktivity.nukleus.maven.plugin.internal.generate.Map16FWGenerator;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.Map32FWGenerator;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.Map8FWGenerator;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.MapFWGenerator;
+import org.reaktivity.nukleus.maven.plugin.internal.generate.MethodBudget;
+import org.reaktivity.nukleus.maven.plugin.internal.generate.MethodBudget.Overrun;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.OctetsFlyweightGenerator;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.String16FlyweightGenerator;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.String32FlyweightGenerator;
@@ -63,15 +91,38 @@ import org.reaktivity.nukleus.maven.plugin.internal.generate.Varint64FlyweightGe
 
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
 
 public class Generator
 {
+    private static final String SCHEMA_PREFIX = "META-INF/reaktivity";
+    private static final String CORE_TYPES = "";
+    private static final String CORE_MARKER_SUFFIX = ".core";
+    private static final long WATCH_QUIET_MILLIS = 200L;
+
     private String scopeNames = "test";
     private File inputDirectory = new File("src/test/resources/test-project");
     private File outputDirectory = new File("target/generated-test-sources/test-reaktivity");
     private String packageName = "org.reaktivity.reaktor.internal.test.types";
+    private File manifestFile;
+    private boolean force;
+    private int parallelism = 1;
+    private File astCacheDirectory;
+    private File reportDirectory;
+    private boolean reachableOnly;
+    private boolean layoutReport;
+    private int estimatedMethodBudget;
+    private boolean lazyListWrap;
+    private boolean lazyStructWrap;
+    private String rootTypes = "";
+    private String corePackageName = "";
+    private boolean coreOnly;
 
     private Parser parser = new Parser();
+    private final Map<String, GeneratedScope> generatedScopes = new HashMap<>();
+    private Consumer<String> debug = s -> {};
+    private Consumer<String> warn = s -> {};
+    private Consumer<String> error = System.err::println;
 
     public static void main(
         String[] args) throws IOException
@@ -80,6 +131,7 @@ public class Generator
         generator.error(System.out::println)
                  .warn(System.out::println);
         boolean verbose = false;
+        boolean watch = false;
         if (args.length > 0)
         {
             for (int i = 0; i < args.length; i++)
@@ -89,11 +141,26 @@ public class Generator
                 case "-v":
                     verbose = true;
                     break;
+                case "-w":
+                    watch = true;
+                    break;
                 case "-d":
                     final String baseDir = args[i + 1];
                     i++;
                     generator.inputDirectory = new File(baseDir + "/src/test/resources/test-project");
                     generator.outputDirectory = new File(baseDir + "/target/generated-test-sources/test-reaktivity");
+                    generator.reportDirectory = new File(baseDir + "/target");
+                    break;
+                case "-p":
+                    generator.setParallelism(Integer.parseInt(args[i + 1]));
+                    i++;
+                    break;
+                case "--lazy-list-wrap":
+                    generator.setLazyListWrap(true);
+                    break;
+                case "--lazy-struct-wrap":
+                    generator.setLazyStructWrap(true);
+                    break;
                 }
             }
         }
@@ -101,7 +168,21 @@ public class Generator
         {
             generator.debug(System.out::println);
         }
-        generator.generate();
+        if (watch)
+        {
+            try
+            {
+                generator.watch(generator::createClassLoader);
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        else
+        {
+            generator.generate();
+        }
     }
 
     void generate() throws IOException
@@ -110,96 +191,349 @@ public class Generator
     }
 
     void generate(ClassLoader loader) throws IOException
+    {
+        try (ParallelTasks parallel = new ParallelTasks(parallelism))
+        {
+            generate(loader, parallel);
+        }
+    }
+
+    private void generate(
+        ClassLoader loader,
+        ParallelTasks parallel) throws IOException
     {
         List<String> targetScopes = unmodifiableList(asList(scopeNames.split("\\s+")));
-        List<AstSpecificationNode> specifications = parser.parseAST(targetScopes, loader);
 
-        TypeResolver resolver = new TypeResolver(packageName);
+        Path outputPath = outputDirectory.toPath();
+        Path manifestPath = manifestFile().toPath();
+        String config = Digests.sha256(scopeNames, packageName, outputPath.toAbsolutePath().normalize().toString());
+        String coreName = coreName(loader);
+        String options = Digests.sha256(Boolean.toString(reachableOnly), rootTypes, coreName, Boolean.toString(coreOnly),
+            Boolean.toString(layoutReport), Integer.toString(estimatedMethodBudget), Boolean.toString(lazyListWrap),
+            Boolean.toString(lazyStructWrap));
+
+        GenerateManifest previous = GenerateManifest.read(manifestPath);
+        if (!force && previous != null && previous.isUpToDate(config, options, loader, outputPath))
+        {
+            System.out.println("Generated sources up to date in " + outputDirectory);
+            return;
+        }
+
+        Files.deleteIfExists(manifestPath);
+        if (force)
+        {
+            generatedScopes.clear();
+        }
+
+        GenerateReport report = new GenerateReport();
+        GenerateManifest manifest = new GenerateManifest(config);
+        manifest.options(options);
+        Map<String, String> digests = new HashMap<>();
+        Map<String, Set<String>> references = new HashMap<>();
+        parser.cache(astCacheDirectory != null ? new AstCache(astCacheDirectory.toPath()) : null);
+        long parseStart = System.nanoTime();
+        List<String> parseScopes = coreOnly ? emptyList() : targetScopes;
+        List<AstSpecificationNode> specifications = parser.parseAST(parseScopes, loader, parallel, (r, d, refs) ->
+        {
+            manifest.resource(r, d);
+            digests.put(r, d);
+            references.put(r, refs);
+        });
+        report.phase("parse", System.nanoTime() - parseStart);
+
+        long resolveStart = System.nanoTime();
+        TypeResolver resolver = new TypeResolver(packageName, coreName);
         specifications.forEach(resolver::visit);
+        report.phase("resolve", System.nanoTime() - resolveStart);
+
+        Set<String> reachable = reachableOnly && !coreOnly ?
+            reachableTypes(specifications, targetScopes, resolver, report) : null;
+
+        System.out.println("Generating to " + outputDirectory);
 
-        Collection<TypeSpecGenerator<?>> typeSpecs = new HashSet<>();
+        String generation = reachable != null ? Digests.sha256(config, options, String.join(" ", new TreeSet<>(reachable)))
+                                              : Digests.sha256(config, options);
+        Map<String, String> generationKeys = new LinkedHashMap<>();
+        WireLayoutReport layouts = layoutReport ? new WireLayoutReport() : null;
+        MethodBudget budget = new MethodBudget(estimatedMethodBudget);
+        SourceEmitter emitter = new SourceEmitter(outputPath, report, layouts, budget, reachable, parallel);
+        int regenerated = 0;
         for (AstSpecificationNode specification : specifications)
         {
             String scopeName = specification.scope().name();
-            ScopeVisitor visitor = new ScopeVisitor(scopeName, packageName, resolver, targetScopes);
-            typeSpecs.addAll(specification.accept(visitor));
+            String generationKey = generationKey(generation, scopeName + ".idl", digests, references);
+            generationKeys.put(scopeName, generationKey);
+            if (layouts != null || !isGenerated(scopeName, generationKey, outputPath))
+            {
+                long scopeStart = System.nanoTime();
+                long emitStart = emitter.nanos;
+                List<GeneratedType> scopeTypes = new ArrayList<>();
+                ScopeVisitor visitor = new ScopeVisitor(scopeName, packageName, resolver, targetScopes,
+                    t -> scopeTypes.addAll(emitter.emitUnchecked(t)))
+                    .methodBudget(budget)
+                    .lazyListWrap(lazyListWrap)
+                    .lazyStructWrap(lazyStructWrap);
+                try
+                {
+                    specification.accept(visitor);
+                }
+                catch (UncheckedIOException ex)
+                {
+                    throw ex.getCause();
+                }
+                generatedScopes.put(scopeName, new GeneratedScope(generationKey, scopeTypes));
+                regenerated++;
+                long scopeNanos = System.nanoTime() - scopeStart;
+                report.scope(scopeName, scopeNanos);
+                report.phase("visit", scopeNanos - (emitter.nanos - emitStart));
+            }
         }
+        if (coreOnly || coreName.equals(packageName))
+        {
+            generationKeys.put(CORE_TYPES, generation);
+            if (!isGenerated(CORE_TYPES, generation, outputPath))
+            {
+                generatedScopes.put(CORE_TYPES, new GeneratedScope(generation, emitter.emit(coreTypes(resolver, coreVersion()))));
+                regenerated++;
+            }
+        }
+        generatedScopes.keySet().retainAll(generationKeys.keySet());
 
-        ClassName flyweightType = resolver.resolveClass(AstType.FLYWEIGHT);
-        ClassName stringType = resolver.resolveClass(AstType.STRING);
-        ClassName arrayType = resolver.resolveClass(AstType.ARRAY);
-        ClassName listType = resolver.resolveClass(AstType.LIST);
-        ClassName mapType = resolver.resolveClass(AstType.MAP);
-        ClassName boundedOctetsType = resolver.resolveClass(AstType.BOUNDED_OCTETS);
+        List<GeneratedType> types = new ArrayList<>();
+        generatedScopes.values().forEach(g -> types.addAll(g.types));
 
-        typeSpecs.add(new FlyweightGenerator(flyweightType, arrayType));
-        typeSpecs.add(new OctetsFlyweightGenerator(flyweightType));
-        typeSpecs.add(new StringFlyweightGenerator(flyweightType));
-        typeSpecs.add(new String8FlyweightGenerator(stringType));
-        typeSpecs.add(new String16FlyweightGenerator(stringType));
-        typeSpecs.add(new String32FlyweightGenerator(stringType));
-        typeSpecs.add(new ArrayFWGenerator(flyweightType));
-        typeSpecs.add(new Array8FWGenerator(flyweightType, arrayType));
-        typeSpecs.add(new Array16FWGenerator(flyweightType, arrayType));
-        typeSpecs.add(new Array32FWGenerator(flyweightType, arrayType));
-        typeSpecs.add(new Varbyteuint32FlyweightGenerator(flyweightType));
-        typeSpecs.add(new Varint32FlyweightGenerator(flyweightType));
-        typeSpecs.add(new Varint64FlyweightGenerator(flyweightType));
-        typeSpecs.add(new ListFWGenerator(flyweightType));
-        typeSpecs.add(new List32FWGenerator(flyweightType, listType));
-        typeSpecs.add(new List8FWGenerator(flyweightType, listType));
-        typeSpecs.add(new List0FWGenerator(flyweightType, listType));
-        typeSpecs.add(new MapFWGenerator(flyweightType));
-        typeSpecs.add(new Map8FWGenerator(flyweightType, mapType));
-        typeSpecs.add(new Map16FWGenerator(flyweightType, mapType));
-        typeSpecs.add(new Map32FWGenerator(flyweightType, mapType));
-        typeSpecs.add(new BoundedOctetsFlyweightGenerator(flyweightType));
-        typeSpecs.add(new BoundedOctets8FlyweightGenerator(flyweightType, boundedOctetsType));
-        typeSpecs.add(new BoundedOctets16FlyweightGenerator(flyweightType, boundedOctetsType));
-        typeSpecs.add(new BoundedOctets32FlyweightGenerator(flyweightType, boundedOctetsType));
+        types.forEach(t -> manifest.output(t.name));
+        int written = emitter.written;
 
-        System.out.println("Generating to " + outputDirectory);
+        long writeStart = System.nanoTime();
+        if (previous != null && previous.sameConfig(manifest))
+        {
+            deleteStaleOutputs(previous, manifest, outputPath);
+        }
+
+        manifest.write(manifestPath);
+        report.phase("write", System.nanoTime() - writeStart);
 
-        if (outputDirectory.exists())
+        writeReports(report, layouts, budget);
+
+        debug.accept(String.format("Generated %d sources, %d changed, %d of %d scopes regenerated",
+                types.size(), written, regenerated, generationKeys.size()));
+    }
+
+    private void writeReports(
+        GenerateReport report,
+        WireLayoutReport layouts,
+        MethodBudget budget) throws IOException
+    {
+        if (report.methods() != 0)
         {
-            Files.walk(outputDirectory.toPath())
-                 .map(Path::toFile)
-                 .filter(File::isFile)
-                 .forEach(f -> f.setWritable(true));
+            warn.accept(String.format("%d generated methods are estimated to exceed the %d byte method budget", report.methods(),
+                    budget.limit()));
         }
 
-        for (TypeSpecGenerator<?> typeSpec : typeSpecs)
+        if (reportDirectory != null)
         {
-            JavaFile sourceFile = JavaFile.builder(typeSpec.className().packageName(), typeSpec.generate())
-                    .addFileComment("TODO: license")
-                    .skipJavaLangImports(true)
-                    .build();
-            sourceFile.writeTo(outputDirectory);
+            String reportName = String.format("reaktivity-report-%s", outputDirectory.getName());
+            report.write(reportDirectory.toPath().resolve(reportName + ".json"),
+                         reportDirectory.toPath().resolve(reportName + ".txt"));
+
+            if (layouts != null)
+            {
+                String layoutName = String.format("reaktivity-layout-%s", outputDirectory.getName());
+                layouts.write(reportDirectory.toPath().resolve(layoutName + ".json"),
+                              reportDirectory.toPath().resolve(layoutName + ".txt"));
+            }
+        }
+    }
+
+    void watch(
+        Callable<ClassLoader> loaders) throws IOException, InterruptedException
+    {
+        Path inputPath = inputDirectory.getAbsoluteFile().toPath();
+        try (WatchService watcher = inputPath.getFileSystem().newWatchService())
+        {
+            register(watcher, inputPath);
+            generate(newLoader(loaders));
+            System.out.println("Watching " + inputDirectory + " for changes");
+
+            for (;;)
+            {
+                boolean changed = false;
+                WatchKey key = watcher.take();
+                while (key != null)
+                {
+                    Path directory = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents())
+                    {
+                        Path changedPath = directory.resolve((Path) event.context());
+                        if (event.kind() == ENTRY_CREATE && Files.isDirectory(changedPath))
+                        {
+                            register(watcher, changedPath);
+                        }
+                        changed |= event.kind() == OVERFLOW || changedPath.toString().endsWith(".idl");
+                    }
+                    key.reset();
+                    key = watcher.poll(WATCH_QUIET_MILLIS, MILLISECONDS);
+                }
+
+                if (changed)
+                {
+                    try
+                    {
+                        generate(newLoader(loaders));
+                    }
+                    catch (IOException | RuntimeException ex)
+                    {
+                        error.accept(String.format("Unable to regenerate sources: %s", ex));
+                    }
+                }
+            }
+        }
+    }
+
+    int publishSchemas(
+        File sourceDirectory,
+        File schemaDirectory) throws IOException
+    {
+        Path sourcePath = sourceDirectory.getAbsoluteFile().toPath();
+        if (!Files.isDirectory(sourcePath))
+        {
+            return 0;
         }
 
-        if (outputDirectory.exists())
+        List<Path> resources;
+        try (Stream<Path> walk = Files.walk(sourcePath))
         {
-            Files.walk(outputDirectory.toPath())
-                 .map(Path::toFile)
-                 .filter(File::isFile)
-                 .forEach(f -> f.setWritable(false));
+            resources = walk.filter(p -> p.toString().endsWith(PublishedSchema.RESOURCE_SUFFIX))
+                            .sorted()
+                            .collect(toList());
         }
+
+        Path schemaPath = schemaDirectory.toPath().resolve(SCHEMA_PREFIX);
+        int published = 0;
+        for (Path resource : resources)
+        {
+            String resourceName = sourcePath.relativize(resource).toString().replace(File.separatorChar, '/');
+            Path schema = schemaPath.resolve(PublishedSchema.schemaName(resourceName));
+            String digest = Digests.sha256(Files.readAllBytes(resource));
+            if (!PublishedSchema.isCurrent(schema, digest))
+            {
+                AstSpecificationNode specification = parser.parse(resourceName, resource.toUri().toURL());
+                PublishedSchema.write(schema, digest, specification);
+                published++;
+            }
+        }
+
+        debug.accept(String.format("Published %d of %d schemas", published, resources.size()));
+        return published;
+    }
+
+    boolean publishCoreVersion(
+        File schemaDirectory) throws IOException
+    {
+        Path marker = schemaDirectory.toPath().resolve(SCHEMA_PREFIX).resolve(packageName + CORE_MARKER_SUFFIX);
+        byte[] version = coreVersion().getBytes(UTF_8);
+        boolean changed = writeIfChanged(marker, version);
+        debug.accept(String.format("Core types version %s", coreVersion()));
+        return changed;
+    }
+
+    void setParallelism(
+        int parallelism)
+    {
+        this.parallelism = parallelism;
+        parser.parallelism(parallelism);
+    }
+
+    void setAstCacheDirectory(
+        File astCacheDirectory)
+    {
+        this.astCacheDirectory = astCacheDirectory;
+    }
+
+    void setReportDirectory(
+        File reportDirectory)
+    {
+        this.reportDirectory = reportDirectory;
+    }
+
+    void setReachableOnly(
+        boolean reachableOnly)
+    {
+        this.reachableOnly = reachableOnly;
+    }
+
+    void setLayoutReport(
+        boolean layoutReport)
+    {
+        this.layoutReport = layoutReport;
+    }
+
+    void setEstimatedMethodBudget(
+        int estimatedMethodBudget)
+    {
+        this.estimatedMethodBudget = estimatedMethodBudget;
+    }
+
+    void setLazyListWrap(
+        boolean lazyListWrap)
+    {
+        this.lazyListWrap = lazyListWrap;
+    }
+
+    void setLazyStructWrap(
+        boolean lazyStructWrap)
+    {
+        this.lazyStructWrap = lazyStructWrap;
+    }
+
+    void setRootTypes(
+        String rootTypes)
+    {
+        this.rootTypes = rootTypes != null ? rootTypes.trim() : "";
+    }
+
+    void setCorePackageName(
+        String corePackageName)
+    {
+        this.corePackageName = corePackageName != null ? corePackageName.trim() : "";
+    }
+
+    void setCoreOnly(
+        boolean coreOnly)
+    {
+        this.coreOnly = coreOnly;
+    }
+
+    void setForce(
+        boolean force)
+    {
+        this.force = force;
+    }
+
+    void setManifestFile(
+        File manifestFile)
+    {
+        this.manifestFile = manifestFile;
     }
 
     Generator debug(Consumer<String> debug)
     {
+        this.debug = debug;
         parser.debug(debug);
         return this;
     }
 
     Generator error(Consumer<String> error)
     {
+        this.error = error;
         parser.error(error);
         return this;
     }
 
     Generator warn(Consumer<String> warn)
     {
+        this.warn = warn;
         parser.warn(warn);
         return this;
     }
@@ -228,10 +562,408 @@ public class Generator
         this.outputDirectory = outputDirectory;
     }
 
+    private File manifestFile()
+    {
+        return manifestFile != null ? manifestFile
+                : new File(outputDirectory.getAbsoluteFile().getParentFile(), outputDirectory.getName() + ".manifest");
+    }
+
+    private static void deleteStaleOutputs(
+        GenerateManifest previous,
+        GenerateManifest manifest,
+        Path outputPath) throws IOException
+    {
+        for (String staleName : previous.outputs())
+        {
+            if (!manifest.outputs().contains(staleName))
+            {
+                File staleFile = outputPath.resolve(staleName).toFile();
+                staleFile.setWritable(true);
+                Files.deleteIfExists(staleFile.toPath());
+            }
+        }
+    }
+
+    private static ClassLoader newLoader(
+        Callable<ClassLoader> loaders) throws IOException
+    {
+        try
+        {
+            return loaders.call();
+        }
+        catch (IOException | RuntimeException ex)
+        {
+            throw ex;
+        }
+        catch (Exception ex)
+        {
+            throw new IOException(ex);
+        }
+    }
+
+    private static void register(
+        WatchService watcher,
+        Path directory) throws IOException
+    {
+        try (Stream<Path> directories = Files.walk(directory))
+        {
+            for (Path path : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator)
+            {
+                path.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            }
+        }
+    }
+
+    private boolean isGenerated(
+        String scopeName,
+        String generationKey,
+        Path outputPath)
+    {
+        GeneratedScope generated = generatedScopes.get(scopeName);
+        return generated != null && generated.generationKey.equals(generationKey) &&
+            generated.types.stream().allMatch(t -> Files.isRegularFile(outputPath.resolve(t.name)));
+    }
+
+    private List<GeneratedSource> generateSources(
+        List<TypeSpecGenerator<?>> typeSpecs,
+        MethodBudget budget,
+        ParallelTasks parallel) throws IOException
+    {
+        List<Callable<GeneratedSource>> tasks = new ArrayList<>(typeSpecs.size());
+        typeSpecs.forEach(t -> tasks.add(() -> generateSource(t, budget)));
+
+        return parallel.invokeAll(tasks, (f, i) ->
+            error.accept(String.format("Unable to generate %s: %s", typeSpecs.get(i).className(), f)));
+    }
+
+    private Set<String> reachableTypes(
+        List<AstSpecificationNode> specifications,
+        List<String> targetScopes,
+        TypeResolver resolver,
+        GenerateReport report)
+    {
+        long reachableStart = System.nanoTime();
+        List<AstType> roots = new ArrayList<>();
+        if (rootTypes.isEmpty())
+        {
+            specifications.forEach(s -> roots.addAll(ReachableTypes.scopeTypes(s, targetScopes)));
+        }
+        else
+        {
+            for (String rootType : rootTypes.split("\\s+"))
+            {
+                if (resolver.resolve(rootType) == null)
+                {
+                    error.accept(String.format("Root type %s not generated", rootType));
+                    continue;
+                }
+                roots.add(AstType.dynamicType(rootType));
+            }
+        }
+
+        Set<String> reachable = new HashSet<>();
+        new ReachableTypes(resolver).reachableFrom(roots).forEach(c -> reachable.add(c.toString()));
+        debug.accept(String.format("Reachable types: %d", reachable.size()));
+        report.phase("reachable", System.nanoTime() - reachableStart);
+        return reachable;
+    }
+
+    private static String generationKey(
+        String generation,
+        String resourceName,
+        Map<String, String> digests,
+        Map<String, Set<String>> references)
+    {
+        Set<String> dependencies = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(resourceName);
+        while (!pending.isEmpty())
+        {
+            String dependency = pending.poll();
+            if (dependencies.add(dependency))
+            {
+                pending.addAll(references.getOrDefault(dependency, emptySet()));
+            }
+        }
+
+        List<String> values = new ArrayList<>();
+        values.add(generation);
+        for (String dependency : dependencies)
+        {
+            values.add(dependency);
+            values.add(String.valueOf(digests.get(dependency)));
+        }
+        return Digests.sha256(values.toArray(new String[values.size()]));
+    }
+
+    private String coreName(
+        ClassLoader loader) throws IOException
+    {
+        if (corePackageName.isEmpty() || corePackageName.equals(packageName) || coreOnly)
+        {
+            return packageName;
+        }
+
+        URL marker = loader.getResource(corePackageName + CORE_MARKER_SUFFIX);
+        if (marker == null)
+        {
+            throw new IOException(String.format("Core types for package %s not found, " +
+                "generate them with coreOnly and add that module as a dependency", corePackageName));
+        }
+
+        String version = new String(Parser.readResource(marker), UTF_8).trim();
+        if (!version.equals(coreVersion()))
+        {
+            throw new IOException(String.format("Core types for package %s have version %s, expected %s, " +
+                "regenerate them with this plugin version", corePackageName, version, coreVersion()));
+        }
+
+        return corePackageName;
+    }
+
+    static String coreVersion()
+    {
+        return CoreVersion.VALUE;
+    }
+
+    private static List<TypeSpecGenerator<?>> coreTypes(
+        TypeResolver resolver,
+        String coreVersion)
+    {
+        List<TypeSpecGenerator<?>> typeSpecs = new ArrayList<>();
+
+        ClassName flyweightType = resolver.resolveClass(AstType.FLYWEIGHT);
+        ClassName stringType = resolver.resolveClass(AstType.STRING);
+        ClassName arrayType = resolver.resolveClass(AstType.ARRAY);
+        ClassName listType = resolver.resolveClass(AstType.LIST);
+        ClassName mapType = resolver.resolveClass(AstType.MAP);
+        ClassName boundedOctetsType = resolver.resolveClass(AstType.BOUNDED_OCTETS);
+
+        typeSpecs.add(new FlyweightGenerator(flyweightType, arrayType).coreVersion(coreVersion));
+        typeSpecs.add(new OctetsFlyweightGenerator(flyweightType));
+        typeSpecs.add(new StringFlyweightGenerator(flyweightType));
+        typeSpecs.add(new String8FlyweightGenerator(stringType));
+        typeSpecs.add(new String16FlyweightGenerator(stringType));
+        typeSpecs.add(new String32FlyweightGenerator(stringType));
+        typeSpecs.add(new ArrayFWGenerator(flyweightType));
+        typeSpecs.add(new Array8FWGenerator(flyweightType, arrayType));
+        typeSpecs.add(new Array16FWGenerator(flyweightType, arrayType));
+        typeSpecs.add(new Array32FWGenerator(flyweightType, arrayType));
+        typeSpecs.add(new Varbyteuint32FlyweightGenerator(flyweightType));
+        typeSpecs.add(new Varint32FlyweightGenerator(flyweightType));
+        typeSpecs.add(new Varint64FlyweightGenerator(flyweightType));
+        typeSpecs.add(new ListFWGenerator(flyweightType));
+        typeSpecs.add(new List32FWGenerator(flyweightType, listType));
+        typeSpecs.add(new List8FWGenerator(flyweightType, listType));
+        typeSpecs.add(new List0FWGenerator(flyweightType, listType));
+        typeSpecs.add(new MapFWGenerator(flyweightType));
+        typeSpecs.add(new Map8FWGenerator(flyweightType, mapType));
+        typeSpecs.add(new Map16FWGenerator(flyweightType, mapType));
+        typeSpecs.add(new Map32FWGenerator(flyweightType, mapType));
+        typeSpecs.add(new BoundedOctetsFlyweightGenerator(flyweightType));
+        typeSpecs.add(new BoundedOctets8FlyweightGenerator(flyweightType, boundedOctetsType));
+        typeSpecs.add(new BoundedOctets16FlyweightGenerator(flyweightType, boundedOctetsType));
+        typeSpecs.add(new BoundedOctets32FlyweightGenerator(flyweightType, boundedOctetsType));
+
+        return typeSpecs;
+    }
+
+    private static GeneratedSource generateSource(
+        TypeSpecGenerator<?> typeSpec,
+        MethodBudget budget)
+    {
+        long start = System.nanoTime();
+        TypeSpec type = typeSpec.generate();
+        JavaFile sourceFile = JavaFile.builder(typeSpec.className().packageName(), type)
+                .addFileComment("TODO: license")
+                .skipJavaLangImports(true)
+                .build();
+        byte[] content = sourceFile.toString().getBytes(UTF_8);
+        long nanos = System.nanoTime() - start;
+        String className = typeSpec.className().toString();
+        return new GeneratedSource(className, sourceName(sourceFile), content, nanos, budget.audit(className, type));
+    }
+
+    private static String sourceName(
+        JavaFile sourceFile)
+    {
+        String packagePath = sourceFile.packageName.replace('.', '/');
+        String typeName = sourceFile.typeSpec.name;
+        return packagePath.isEmpty() ? typeName + ".java" : String.format("%s/%s.java", packagePath, typeName);
+    }
+
+    private static boolean writeIfChanged(
+        Path sourcePath,
+        byte[] content) throws IOException
+    {
+        if (Files.isRegularFile(sourcePath) &&
+            Files.size(sourcePath) == content.length &&
+            Arrays.equals(Files.readAllBytes(sourcePath), content))
+        {
+            return false;
+        }
+
+        Files.createDirectories(sourcePath.getParent());
+        File sourceFile = sourcePath.toFile();
+        sourceFile.setWritable(true);
+        Files.write(sourcePath, content);
+        sourceFile.setWritable(false);
+        return true;
+    }
+
     private ClassLoader createClassLoader() throws MalformedURLException
     {
         ClassLoader parent = Thread.currentThread().getContextClassLoader();
         return new URLClassLoader(new URL[]{inputDirectory.getAbsoluteFile().toURI().toURL()}, parent);
     }
 
+    private final class SourceEmitter
+    {
+        private final Path outputPath;
+        private final GenerateReport report;
+        private final WireLayoutReport layouts;
+        private final MethodBudget budget;
+        private final Set<String> reachable;
+        private final ParallelTasks parallel;
+
+        private int written;
+        private long nanos;
+
+        private SourceEmitter(
+            Path outputPath,
+            GenerateReport report,
+            WireLayoutReport layouts,
+            MethodBudget budget,
+            Set<String> reachable,
+            ParallelTasks parallel)
+        {
+            this.outputPath = outputPath;
+            this.report = report;
+            this.layouts = layouts;
+            this.budget = budget;
+            this.reachable = reachable;
+            this.parallel = parallel;
+        }
+
+        private List<GeneratedType> emitUnchecked(
+            Collection<TypeSpecGenerator<?>> typeSpecs)
+        {
+            try
+            {
+                return emit(typeSpecs);
+            }
+            catch (IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private List<GeneratedType> emit(
+            Collection<TypeSpecGenerator<?>> typeSpecs) throws IOException
+        {
+            long start = System.nanoTime();
+            List<TypeSpecGenerator<?>> sortedTypeSpecs = new ArrayList<>(typeSpecs);
+            if (reachable != null)
+            {
+                sortedTypeSpecs.removeIf(t -> !reachable.contains(t.className().toString()));
+            }
+            sortedTypeSpecs.sort(comparing(t -> t.className().toString()));
+            if (layouts != null)
+            {
+                sortedTypeSpecs.stream().map(TypeSpecGenerator::layout).filter(Objects::nonNull).forEach(layouts::layout);
+            }
+            List<GeneratedSource> sources = generateSources(sortedTypeSpecs, budget, parallel);
+            long generated = System.nanoTime();
+
+            List<GeneratedType> types = new ArrayList<>(sources.size());
+            for (GeneratedSource source : sources)
+            {
+                report.type(source.className, source.nanos, source.content.length);
+                for (Overrun overrun : source.overruns)
+                {
+                    report.method(overrun.typeName(), overrun.methodName(), overrun.size());
+                    debug.accept(String.format("Method estimated over budget: %s", overrun));
+                }
+                if (writeIfChanged(outputPath.resolve(source.name), source.content))
+                {
+                    written++;
+                }
+                types.add(new GeneratedType(source.className, source.name));
+            }
+
+            long end = System.nanoTime();
+            report.phase("generate", generated - start);
+            report.phase("write", end - generated);
+            nanos += end - start;
+            return types;
+        }
+    }
+
+    private static final class GeneratedScope
+    {
+        private final String generationKey;
+        private final List<GeneratedType> types;
+
+        private GeneratedScope(
+            String generationKey,
+            List<GeneratedType> types)
+        {
+            this.generationKey = generationKey;
+            this.types = types;
+        }
+    }
+
+    private static final class GeneratedType
+    {
+        private final String className;
+        private final String name;
+
+        private GeneratedType(
+            String className,
+            String name)
+        {
+            this.className = className;
+            this.name = name;
+        }
+    }
+
+    private static final class GeneratedSource
+    {
+        private final String className;
+        private final String name;
+        private final byte[] content;
+        private final long nanos;
+        private final List<Overrun> overruns;
+
+        private GeneratedSource(
+            String className,
+            String name,
+            byte[] content,
+            long nanos,
+            List<Overrun> overruns)
+        {
+            this.className = className;
+            this.name = name;
+            this.content = content;
+            this.nanos = nanos;
+            this.overruns = overruns;
+        }
+    }
+
+
+    private static final class CoreVersion
+    {
+        private static final String VALUE = coreVersion();
+
+        private static String coreVersion()
+        {
+            TypeResolver resolver = new TypeResolver(CORE_TYPES, CORE_TYPES);
+            List<String> sources = new ArrayList<>();
+            for (TypeSpecGenerator<?> typeSpec : coreTypes(resolver, null))
+            {
+                sources.add(typeSpec.generate().toString());
+            }
+            return Digests.sha256(sources.toArray(new String[sources.size()])).substring(0, 16);
+        }
+    }
 }
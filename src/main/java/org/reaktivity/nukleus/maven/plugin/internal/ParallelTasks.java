@@ -0,0 +1,115 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.ObjIntConsumer;
+
+final class ParallelTasks implements AutoCloseable
+{
+    private final ForkJoinPool pool;
+
+    ParallelTasks(
+        int parallelism)
+    {
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    <T> List<T> invokeAll(
+        List<Callable<T>> tasks,
+        ObjIntConsumer<Throwable> failed) throws IOException
+    {
+        List<T> results = new ArrayList<>(tasks.size());
+        List<Throwable> failures = new LinkedList<>();
+        if (pool != null && tasks.size() > 1)
+        {
+            try
+            {
+                List<Future<T>> futures = pool.invokeAll(tasks);
+                for (int i = 0; i < futures.size(); i++)
+                {
+                    try
+                    {
+                        results.add(futures.get(i).get());
+                    }
+                    catch (ExecutionException ex)
+                    {
+                        failed.accept(ex.getCause(), i);
+                        failures.add(ex.getCause());
+                    }
+                }
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for tasks");
+            }
+        }
+        else
+        {
+            for (int i = 0; i < tasks.size(); i++)
+            {
+                try
+                {
+                    results.add(tasks.get(i).call());
+                }
+                catch (Exception ex)
+                {
+                    failed.accept(ex, i);
+                    failures.add(ex);
+                }
+            }
+        }
+
+        if (!failures.isEmpty())
+        {
+            Throwable failure = failures.remove(0);
+            failures.forEach(failure::addSuppressed);
+            if (failure instanceof IOException)
+            {
+                throw (IOException) failure;
+            }
+            if (failure instanceof RuntimeException)
+            {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error)
+            {
+                throw (Error) failure;
+            }
+            throw new IOException(failure);
+        }
+
+        return results;
+    }
+
+    @Override
+    public void close()
+    {
+        if (pool != null)
+        {
+            pool.shutdown();
+        }
+    }
+}
@@ -15,26 +15,36 @@
  */
 package org.reaktivity.nukleus.maven.plugin.internal;
 
+import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toSet;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ConsoleErrorListener;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstNode;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
@@ -52,6 +62,12 @@ class Parser
     private Consumer<String> error = System.err::println;
     private Consumer<String> warn = NO_OP;
     private Consumer<String> debug = NO_OP;
+    private int parallelism = 1;
+    private AstCache cache;
+
+    private final AtomicInteger llFallbacks = new AtomicInteger();
+    private final AtomicInteger publishedSchemas = new AtomicInteger();
+    private final Map<String, ParsedResource> parsedResources = new ConcurrentHashMap<>();
 
     Parser()
     {
@@ -76,51 +92,183 @@ class Parser
         return this;
     }
 
+    Parser parallelism(int parallelism)
+    {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    Parser cache(AstCache cache)
+    {
+        this.cache = cache;
+        return this;
+    }
+
     final List<AstSpecificationNode> parseAST(
         List<String> targetScopes, ClassLoader loader) throws IOException
+    {
+        return parseAST(targetScopes, loader, (r, d, s) -> {});
+    }
+
+    final List<AstSpecificationNode> parseAST(
+        List<String> targetScopes,
+        ClassLoader loader,
+        ResourceListener listener) throws IOException
+    {
+        try (ParallelTasks parallel = new ParallelTasks(parallelism))
+        {
+            return parseAST(targetScopes, loader, parallel, listener);
+        }
+    }
+
+    final List<AstSpecificationNode> parseAST(
+        List<String> targetScopes,
+        ClassLoader loader,
+        ParallelTasks parallel,
+        ResourceListener listener) throws IOException
     {
         List<AstSpecificationNode> specifications = new LinkedList<>();
         SortedSet<String> parsedResourceNames = new TreeSet<>();
-        Set<String> remainingScopes = new LinkedHashSet<>(targetScopes);
-        while (!remainingScopes.isEmpty())
+        List<String> resourceNames = resourceNames(targetScopes, parsedResourceNames);
+        while (!resourceNames.isEmpty())
         {
-            String remainingScope = remainingScopes.iterator().next();
-            remainingScopes.remove(remainingScope);
-            String resourceName = remainingScope.replaceAll("([^:]+).*", "$1.idl");
-            if (parsedResourceNames.add(resourceName))
+            List<Callable<ParsedResource>> tasks = new ArrayList<>(resourceNames.size());
+            resourceNames.forEach(r -> tasks.add(() -> parseResource(r, loader)));
+
+            Set<String> referencedScopes = new LinkedHashSet<>();
+            for (ParsedResource parsed : parallel.invokeAll(tasks, (f, i) -> {}))
             {
-                debug.accept("loading: " + resourceName);
+                debug.accept("loading: " + parsed.resourceName);
+                listener.onResource(parsed.resourceName, parsed.digest, parsed.referencedResourceNames);
 
-                URL resource = loader.getResource(resourceName);
-                if (resource == null)
+                if (parsed.specification == null)
                 {
-                    warn.accept(String.format("Resource %s not found", resourceName));
+                    warn.accept(String.format("Resource %s not found", parsed.resourceName));
                     continue;
                 }
 
-                AstSpecificationNode specification = parseSpecification(resourceName, resource);
-                specifications.add(specification);
+                specifications.add(parsed.specification);
+                debug.accept("referenced types: " + parsed.referencedTypes);
+                debug.accept("referenced scopes: " + parsed.referencedScopes);
 
-                Set<String> referencedTypes = specification.accept(new ReferencedTypeResolver());
-                debug.accept("referenced types: " + referencedTypes);
+                referencedScopes.addAll(parsed.referencedScopes);
+            }
 
-                String regex = "((:?[^:]+(?:\\:\\:[^:]+)*)?)\\:\\:[^:]+";
-                Set<String> referencedScopes = referencedTypes.stream()
-                                                              .map(t -> t.replaceAll(regex, "$1"))
-                                                              .collect(toSet());
-                debug.accept("referenced scopes: " + referencedScopes);
+            resourceNames = resourceNames(referencedScopes, parsedResourceNames);
+        }
 
-                remainingScopes.addAll(referencedScopes);
-            }
+        if (cache != null)
+        {
+            debug.accept(String.format("AST cache: %d hits, %d misses", cache.hits(), cache.misses()));
+        }
+
+        if (publishedSchemas.get() != 0)
+        {
+            debug.accept(String.format("Pre-parsed schemas: %d used", publishedSchemas.get()));
+        }
+
+        if (llFallbacks.get() != 0)
+        {
+            debug.accept(String.format("Full LL parse fallbacks: %d", llFallbacks.get()));
         }
+
         return specifications;
     }
 
-    private AstSpecificationNode parseSpecification(
+    private ParsedResource parseResource(
+        String resourceName,
+        ClassLoader loader) throws IOException
+    {
+        URL resource = loader.getResource(resourceName);
+        if (resource == null)
+        {
+            return new ParsedResource(resourceName, null, null);
+        }
+
+        return parseResource(resourceName, resource);
+    }
+
+    AstSpecificationNode parse(
+        String resourceName,
+        URL resource) throws IOException
+    {
+        return parseResource(resourceName, resource).specification;
+    }
+
+    private ParsedResource parseResource(
         String resourceName,
         URL resource) throws IOException
+    {
+        byte[] content = readResource(resource);
+        String digest = Digests.sha256(content);
+
+        String resourceKey = resource.toString();
+        ParsedResource parsed = parsedResources.get(resourceKey);
+        if (parsed != null && parsed.digest.equals(digest))
+        {
+            return parsed;
+        }
+
+        AstSpecificationNode specification = PublishedSchema.read(resource, digest, debug);
+        if (specification != null)
+        {
+            publishedSchemas.incrementAndGet();
+        }
+        else if (cache != null)
+        {
+            specification = cache.lookup(resource, digest);
+        }
+
+        if (specification == null)
+        {
+            specification = parseSpecification(resourceName, content);
+            if (cache != null)
+            {
+                cache.store(resource, digest, specification);
+            }
+        }
+
+        parsed = new ParsedResource(resourceName, digest, specification);
+        parsedResources.put(resourceKey, parsed);
+        return parsed;
+    }
+
+    private static List<String> resourceNames(
+        Collection<String> scopes,
+        Set<String> parsedResourceNames)
+    {
+        List<String> resourceNames = new ArrayList<>();
+        for (String scope : scopes)
+        {
+            String resourceName = resourceName(scope);
+            if (parsedResourceNames.add(resourceName))
+            {
+                resourceNames.add(resourceName);
+            }
+        }
+        return resourceNames;
+    }
+
+    private static String resourceName(
+        String scope)
+    {
+        return scope.replaceAll("([^:]+).*", "$1.idl");
+    }
+
+    static byte[] readResource(
+        URL resource) throws IOException
     {
         try (InputStream input = resource.openStream())
+        {
+            return input.readAllBytes();
+        }
+    }
+
+    private AstSpecificationNode parseSpecification(
+        String resourceName,
+        byte[] content) throws IOException
+    {
+        try (InputStream input = new ByteArrayInputStream(content))
         {
             CharStream chars = CharStreams.fromStream(input);
             NukleusLexer lexer = new NukleusLexer(chars);
@@ -128,7 +276,24 @@ class Parser
             NukleusParser parser = new NukleusParser(tokens);
             parser.setErrorHandler(new BailErrorStrategy());
 
-            SpecificationContext ctx = parser.specification();
+            SpecificationContext ctx;
+            try
+            {
+                parser.removeErrorListeners();
+                parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+                ctx = parser.specification();
+            }
+            catch (ParseCancellationException ex)
+            {
+                // SLL is exact for valid input it accepts, retry with full LL before reporting syntax errors
+                tokens.seek(0);
+                parser.reset();
+                parser.addErrorListener(ConsoleErrorListener.INSTANCE);
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                ctx = parser.specification();
+                llFallbacks.incrementAndGet();
+            }
+
             return new AstParser().visitSpecification(ctx);
         }
         catch (ParseCancellationException ex)
@@ -150,6 +315,44 @@ class Parser
         }
     }
 
+    @FunctionalInterface
+    interface ResourceListener
+    {
+        void onResource(
+            String resourceName,
+            String digest,
+            Set<String> referencedResourceNames);
+    }
+
+    private static final class ParsedResource
+    {
+        private static final String REFERENCED_SCOPE_REGEX = "((:?[^:]+(?:\\:\\:[^:]+)*)?)\\:\\:[^:]+";
+
+        private final String resourceName;
+        private final String digest;
+        private final AstSpecificationNode specification;
+        private final Set<String> referencedTypes;
+        private final Set<String> referencedScopes;
+        private final Set<String> referencedResourceNames;
+
+        private ParsedResource(
+            String resourceName,
+            String digest,
+            AstSpecificationNode specification)
+        {
+            this.resourceName = resourceName;
+            this.digest = digest;
+            this.specification = specification;
+            this.referencedTypes = specification != null ? specification.accept(new ReferencedTypeResolver()) : emptySet();
+            this.referencedScopes = referencedTypes.stream()
+                                                   .map(t -> t.replaceAll(REFERENCED_SCOPE_REGEX, "$1"))
+                                                   .collect(toSet());
+            this.referencedResourceNames = referencedScopes.stream()
+                                                           .map(Parser::resourceName)
+                                                           .collect(toSet());
+        }
+    }
+
     private static final class ReferencedTypeResolver extends AstNode.Visitor<Set<String>>
     {
         private final Set<String> qualifiedNames = new HashSet<>();
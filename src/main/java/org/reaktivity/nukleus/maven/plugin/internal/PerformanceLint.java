@@ -0,0 +1,313 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.joining;
+import static org.reaktivity.nukleus.maven.plugin.internal.generate.WireLayout.UNBOUNDED;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstAbstractMemberNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstListMemberNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstListNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstScopeNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstStructMemberNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstStructNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstType;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstVariantNode;
+import org.reaktivity.nukleus.maven.plugin.internal.generate.TypeResolver;
+import org.reaktivity.nukleus.maven.plugin.internal.generate.WireLayout;
+
+final class PerformanceLint
+{
+    static final String ANCHORED_FIXED_MEMBER = "anchored-fixed-member";
+    static final String OVERSIZED_LIST_HEADER = "oversized-list-header";
+    static final String UINT24_MEMBER = "uint24-member";
+    static final String VARIANT_REBUILD = "variant-rebuild";
+
+    static final List<String> RULES = unmodifiableList(asList(
+        ANCHORED_FIXED_MEMBER,
+        OVERSIZED_LIST_HEADER,
+        UINT24_MEMBER,
+        VARIANT_REBUILD));
+
+    private static final String ALL_RULES = "*";
+    private static final String SCOPE_SEPARATOR = "/";
+
+    enum Severity
+    {
+        OFF,
+        WARN,
+        ERROR
+    }
+
+    private final Map<String, Severity> severities;
+
+    PerformanceLint(
+        String config)
+    {
+        this.severities = new HashMap<>();
+        for (String entry : config.trim().split("[\\s,]+"))
+        {
+            if (entry.isEmpty())
+            {
+                continue;
+            }
+
+            int equals = entry.indexOf('=');
+            if (equals == -1)
+            {
+                throw new IllegalArgumentException(String.format("Expected [scope/]rule=severity, found \"%s\"", entry));
+            }
+
+            String key = entry.substring(0, equals);
+            String rule = key.substring(key.indexOf(SCOPE_SEPARATOR) + 1);
+            if (!ALL_RULES.equals(rule) && !RULES.contains(rule))
+            {
+                throw new IllegalArgumentException(
+                    String.format("Unrecognized lint rule \"%s\", expected one of %s", rule, RULES));
+            }
+
+            severities.put(key, Severity.valueOf(entry.substring(equals + 1).toUpperCase()));
+        }
+    }
+
+    boolean isEnabled()
+    {
+        return severities.values().stream().anyMatch(s -> s != Severity.OFF);
+    }
+
+    Severity severity(
+        String scopeName,
+        String rule)
+    {
+        for (String scope = scopeName; scope != null; scope = outerScope(scope))
+        {
+            Severity severity = severities.getOrDefault(scope + SCOPE_SEPARATOR + rule,
+                    severities.get(scope + SCOPE_SEPARATOR + ALL_RULES));
+            if (severity != null)
+            {
+                return severity;
+            }
+        }
+        return severities.getOrDefault(rule, severities.getOrDefault(ALL_RULES, Severity.OFF));
+    }
+
+    List<Finding> lint(
+        List<AstSpecificationNode> specifications)
+    {
+        // only qualified name resolution is needed, class names are never emitted
+        TypeResolver resolver = new TypeResolver(PerformanceLint.class.getPackage().getName());
+        specifications.forEach(resolver::visit);
+
+        List<Finding> findings = new ArrayList<>();
+        LintVisitor visitor = new LintVisitor(resolver, findings);
+        specifications.forEach(s -> s.accept(visitor));
+        return findings;
+    }
+
+    private static String outerScope(
+        String scopeName)
+    {
+        int separator = scopeName.lastIndexOf("::");
+        return separator != -1 ? scopeName.substring(0, separator) : null;
+    }
+
+    static final class Finding
+    {
+        private final String rule;
+        private final Severity severity;
+        private final String message;
+
+        private Finding(
+            String rule,
+            Severity severity,
+            String message)
+        {
+            this.rule = rule;
+            this.severity = severity;
+            this.message = message;
+        }
+
+        String rule()
+        {
+            return rule;
+        }
+
+        Severity severity()
+        {
+            return severity;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("[%s] %s", rule, message);
+        }
+    }
+
+    private final class LintVisitor extends AstNode.Visitor<Void>
+    {
+        private final TypeResolver resolver;
+        private final List<Finding> findings;
+        private final Deque<String> scopeNames;
+
+        private String typeName;
+
+        private LintVisitor(
+            TypeResolver resolver,
+            List<Finding> findings)
+        {
+            this.resolver = resolver;
+            this.findings = findings;
+            this.scopeNames = new LinkedList<>();
+        }
+
+        @Override
+        public Void visitScope(
+            AstScopeNode scopeNode)
+        {
+            scopeNames.addLast(scopeNode.name());
+            try
+            {
+                return super.visitScope(scopeNode);
+            }
+            finally
+            {
+                scopeNames.removeLast();
+            }
+        }
+
+        @Override
+        public Void visitStruct(
+            AstStructNode structNode)
+        {
+            typeName = structNode.name();
+            String anchorName = null;
+            List<String> anchoredNames = new ArrayList<>();
+            for (AstStructMemberNode member : structNode.members())
+            {
+                boolean isFixedSize = member.type().bits() > 0 && member.sizeName() == null;
+                if (!isFixedSize)
+                {
+                    anchorName = anchorName != null ? anchorName : member.name();
+                }
+                else if (anchorName != null)
+                {
+                    anchoredNames.add(member.name());
+                }
+            }
+
+            if (!anchoredNames.isEmpty())
+            {
+                report(ANCHORED_FIXED_MEMBER, String.format(
+                    "struct %s reads fixed-size members %s relative to variable-length member %s, declare them first",
+                    qualifiedName(structNode.name()), anchoredNames, anchorName));
+            }
+
+            return super.visitStruct(structNode);
+        }
+
+        @Override
+        public Void visitList(
+            AstListNode listNode)
+        {
+            typeName = listNode.name();
+            AstType lengthType = listNode.lengthType();
+            if (listNode.templateType() == null && lengthType != null && lengthType.bits() > Byte.SIZE)
+            {
+                int maxSize = 0;
+                for (AstListMemberNode member : listNode.members())
+                {
+                    int memberMaxSize = WireLayout.maxSize(resolver, member.type(), member.size(), member.sizeName());
+                    maxSize = maxSize == UNBOUNDED || memberMaxSize == UNBOUNDED ? UNBOUNDED : maxSize + memberMaxSize;
+                }
+
+                if (maxSize != UNBOUNDED && maxSize <= 0xff)
+                {
+                    report(OVERSIZED_LIST_HEADER, String.format(
+                        "list %s uses %s length and field count for at most %d bytes of fields, consider list<uint8, uint8>",
+                        qualifiedName(listNode.name()), lengthType.name(), maxSize));
+                }
+            }
+
+            return super.visitList(listNode);
+        }
+
+        @Override
+        public Void visitVariant(
+            AstVariantNode variantNode)
+        {
+            AstType of = variantNode.of();
+            boolean isStringOf = AstType.STRING.equals(of) || AstType.STRING8.equals(of) ||
+                                 AstType.STRING16.equals(of) || AstType.STRING32.equals(of);
+            if (isStringOf && variantNode.kindType().isDynamicType())
+            {
+                report(VARIANT_REBUILD, String.format(
+                    "variant %s of %s switches on %s, so array build() rebuilds items when their kinds differ " +
+                    "or are wider than the max length needs, switch on uint8",
+                    qualifiedName(variantNode.name()), of.name(), variantNode.kindType().name()));
+            }
+
+            return super.visitVariant(variantNode);
+        }
+
+        @Override
+        public Void visitMember(
+            AstAbstractMemberNode memberNode)
+        {
+            AstType type = memberNode.type();
+            if (AstType.UINT24.equals(type) || AstType.INT24.equals(type))
+            {
+                report(UINT24_MEMBER, String.format(
+                    "member %s of %s is %s, which needs multiple reads per access, consider %s",
+                    memberNode.name(), qualifiedName(typeName), type.name(), type.isUnsignedInt() ? "uint32" : "int32"));
+            }
+            return super.visitMember(memberNode);
+        }
+
+        private void report(
+            String rule,
+            String message)
+        {
+            Severity severity = severity(qualifiedName(null), rule);
+            if (severity != Severity.OFF)
+            {
+                findings.add(new Finding(rule, severity, message));
+            }
+        }
+
+        private String qualifiedName(
+            String name)
+        {
+            List<String> names = new ArrayList<>(scopeNames);
+            if (name != null)
+            {
+                names.add(name);
+            }
+            return names.stream().collect(joining("::"));
+        }
+    }
+}
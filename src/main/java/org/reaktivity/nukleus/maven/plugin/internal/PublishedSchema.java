@@ -0,0 +1,154 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
+
+final class PublishedSchema
+{
+    static final String RESOURCE_SUFFIX = ".idl";
+    static final String SCHEMA_SUFFIX = ".ast";
+
+    private static final int MAGIC = 0x524b4153;
+
+    static AstSpecificationNode read(
+        URL resource,
+        String digest,
+        Consumer<String> debug)
+    {
+        AstSpecificationNode specification = null;
+        URL schema = null;
+        try
+        {
+            schema = new URL(resource, schemaName(resource));
+            try (InputStream input = schema.openStream())
+            {
+                DataInputStream data = new DataInputStream(input);
+                String rejection = rejection(data, digest);
+                if (rejection == null)
+                {
+                    specification = AstCache.readSpecification(data);
+                    rejection = specification == null ? "unreadable AST" : null;
+                }
+                if (rejection != null)
+                {
+                    debug.accept(String.format("published schema rejected: %s, %s", schema, rejection));
+                }
+            }
+        }
+        catch (FileNotFoundException ex)
+        {
+            specification = null;
+        }
+        catch (IOException ex)
+        {
+            debug.accept(String.format("published schema rejected: %s, %s", schema, ex));
+            specification = null;
+        }
+        return specification;
+    }
+
+    static boolean isCurrent(
+        Path schema,
+        String digest)
+    {
+        boolean current = false;
+        if (Files.isRegularFile(schema))
+        {
+            try (InputStream input = Files.newInputStream(schema))
+            {
+                current = isCompatible(new DataInputStream(input), digest);
+            }
+            catch (IOException ex)
+            {
+                current = false;
+            }
+        }
+        return current;
+    }
+
+    static void write(
+        Path schema,
+        String digest,
+        AstSpecificationNode specification) throws IOException
+    {
+        Files.createDirectories(schema.getParent());
+        try (OutputStream output = Files.newOutputStream(schema))
+        {
+            DataOutputStream data = new DataOutputStream(output);
+            data.writeInt(MAGIC);
+            data.writeUTF(Digests.plugin());
+            data.writeUTF(digest);
+            AstCache.writeSpecification(data, specification);
+        }
+    }
+
+    static String schemaName(
+        String resourceName)
+    {
+        return resourceName.substring(0, resourceName.length() - RESOURCE_SUFFIX.length()) + SCHEMA_SUFFIX;
+    }
+
+    private static String schemaName(
+        URL resource)
+    {
+        String path = resource.getPath();
+        return schemaName(path.substring(path.lastIndexOf('/') + 1));
+    }
+
+    private static boolean isCompatible(
+        DataInputStream data,
+        String digest) throws IOException
+    {
+        return rejection(data, digest) == null;
+    }
+
+    private static String rejection(
+        DataInputStream data,
+        String digest) throws IOException
+    {
+        String rejection = null;
+        if (data.readInt() != MAGIC)
+        {
+            rejection = "not a published schema";
+        }
+        else if (!data.readUTF().equals(Digests.plugin()))
+        {
+            // the AST serialized form is only trusted between identical plugin builds
+            rejection = "written by a different plugin build";
+        }
+        else if (!data.readUTF().equals(digest))
+        {
+            rejection = "stale for the current IDL";
+        }
+        return rejection;
+    }
+
+    private PublishedSchema()
+    {
+    }
+}
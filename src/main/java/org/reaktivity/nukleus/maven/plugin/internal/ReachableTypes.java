@@ -0,0 +1,385 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstAbstractMemberNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstEnumNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstListMemberNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstListNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstMapNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstNamedNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstNamedNode.Kind;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstScopeNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstStructNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstType;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstTypedefNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstUnionCaseNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstUnionNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstVariantCaseNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstVariantNode;
+import org.reaktivity.nukleus.maven.plugin.internal.generate.TypeResolver;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+final class ReachableTypes
+{
+    private static final Map<AstType, AstType> CORE_SUPERTYPES = initCoreSupertypes();
+
+    private final TypeResolver resolver;
+
+    ReachableTypes(
+        TypeResolver resolver)
+    {
+        this.resolver = resolver;
+    }
+
+    static List<AstType> scopeTypes(
+        AstSpecificationNode specification,
+        List<String> targetScopes)
+    {
+        return specification.accept(new ScopeTypes(targetScopes));
+    }
+
+    Set<ClassName> reachableFrom(
+        Collection<AstType> roots)
+    {
+        Set<AstType> reachable = new HashSet<>();
+        Deque<AstType> pending = new ArrayDeque<>(roots);
+        if (!roots.isEmpty())
+        {
+            pending.add(AstType.FLYWEIGHT);
+        }
+
+        while (!pending.isEmpty())
+        {
+            AstType type = pending.poll();
+            if (reachable.add(type))
+            {
+                AstType supertype = CORE_SUPERTYPES.get(type);
+                if (supertype != null)
+                {
+                    pending.add(supertype);
+                }
+
+                AstNamedNode node = type.isDynamicType() ? resolver.resolve(type.name()) : null;
+                if (node != null)
+                {
+                    pending.addAll(node.accept(new ReferencedTypes()));
+                }
+            }
+        }
+
+        Set<ClassName> classNames = new HashSet<>();
+        for (AstType type : reachable)
+        {
+            TypeName typeName = resolver.resolveType(type);
+            if (typeName instanceof ClassName)
+            {
+                ClassName className = (ClassName) typeName;
+                classNames.add(className);
+
+                AstNamedNode node = type.isDynamicType() ? resolver.resolve(type.name()) : null;
+                if (node != null && resolveKind(node) == Kind.ENUM)
+                {
+                    classNames.add(className.peerClass(node.name()));
+                }
+            }
+        }
+        return classNames;
+    }
+
+    private Kind resolveKind(
+        AstNamedNode node)
+    {
+        AstNamedNode resolved = node;
+        while (resolved != null && resolved.getKind() == Kind.TYPEDEF)
+        {
+            resolved = resolver.resolve(((AstTypedefNode) resolved).originalType().name());
+        }
+        return resolved != null ? resolved.getKind() : null;
+    }
+
+    private static Map<AstType, AstType> initCoreSupertypes()
+    {
+        Map<AstType, AstType> supertypes = new HashMap<>();
+        supertypes.put(AstType.FLYWEIGHT, AstType.ARRAY);
+        supertypes.put(AstType.OCTETS, AstType.FLYWEIGHT);
+        supertypes.put(AstType.STRING, AstType.FLYWEIGHT);
+        supertypes.put(AstType.STRING8, AstType.STRING);
+        supertypes.put(AstType.STRING16, AstType.STRING);
+        supertypes.put(AstType.STRING32, AstType.STRING);
+        supertypes.put(AstType.ARRAY, AstType.FLYWEIGHT);
+        supertypes.put(AstType.ARRAY8, AstType.ARRAY);
+        supertypes.put(AstType.ARRAY16, AstType.ARRAY);
+        supertypes.put(AstType.ARRAY32, AstType.ARRAY);
+        supertypes.put(AstType.LIST, AstType.FLYWEIGHT);
+        supertypes.put(AstType.LIST0, AstType.LIST);
+        supertypes.put(AstType.LIST8, AstType.LIST);
+        supertypes.put(AstType.LIST32, AstType.LIST);
+        supertypes.put(AstType.MAP, AstType.FLYWEIGHT);
+        supertypes.put(AstType.MAP8, AstType.MAP);
+        supertypes.put(AstType.MAP16, AstType.MAP);
+        supertypes.put(AstType.MAP32, AstType.MAP);
+        supertypes.put(AstType.BOUNDED_OCTETS, AstType.FLYWEIGHT);
+        supertypes.put(AstType.BOUNDED_OCTETS8, AstType.BOUNDED_OCTETS);
+        supertypes.put(AstType.BOUNDED_OCTETS16, AstType.BOUNDED_OCTETS);
+        supertypes.put(AstType.BOUNDED_OCTETS32, AstType.BOUNDED_OCTETS);
+        supertypes.put(AstType.VARINT32, AstType.FLYWEIGHT);
+        supertypes.put(AstType.VARINT64, AstType.FLYWEIGHT);
+        supertypes.put(AstType.VARBYTEUINT32, AstType.FLYWEIGHT);
+        return supertypes;
+    }
+
+    private static final class ScopeTypes extends AstNode.Visitor<List<AstType>>
+    {
+        private final List<String> targetScopes;
+        private final Deque<String> scopeNames = new ArrayDeque<>();
+        private final List<AstType> types = new ArrayList<>();
+
+        private ScopeTypes(
+            List<String> targetScopes)
+        {
+            this.targetScopes = targetScopes;
+        }
+
+        @Override
+        public List<AstType> visitScope(
+            AstScopeNode scopeNode)
+        {
+            scopeNames.addLast(scopeNode.name());
+            try
+            {
+                return super.visitScope(scopeNode);
+            }
+            finally
+            {
+                scopeNames.removeLast();
+            }
+        }
+
+        @Override
+        public List<AstType> visitStruct(
+            AstStructNode structNode)
+        {
+            return visitNamedNode(structNode);
+        }
+
+        @Override
+        public List<AstType> visitEnum(
+            AstEnumNode enumNode)
+        {
+            return visitNamedNode(enumNode);
+        }
+
+        @Override
+        public List<AstType> visitUnion(
+            AstUnionNode unionNode)
+        {
+            return visitNamedNode(unionNode);
+        }
+
+        @Override
+        public List<AstType> visitVariant(
+            AstVariantNode variantNode)
+        {
+            return visitNamedNode(variantNode);
+        }
+
+        @Override
+        public List<AstType> visitList(
+            AstListNode listNode)
+        {
+            return visitNamedNode(listNode);
+        }
+
+        @Override
+        public List<AstType> visitTypedef(
+            AstTypedefNode typedefNode)
+        {
+            return visitNamedNode(typedefNode);
+        }
+
+        @Override
+        public List<AstType> visitMap(
+            AstMapNode mapNode)
+        {
+            return visitNamedNode(mapNode);
+        }
+
+        @Override
+        protected List<AstType> defaultResult()
+        {
+            return types;
+        }
+
+        @Override
+        protected List<AstType> aggregateResult(
+            List<AstType> aggregate,
+            List<AstType> nextResult)
+        {
+            return types;
+        }
+
+        private List<AstType> visitNamedNode(
+            AstNamedNode namedNode)
+        {
+            String scopeName = String.join("::", scopeNames);
+            if (targetScopes.stream().anyMatch(t -> t.equals(scopeName) || scopeName.startsWith(t + "::") ||
+                                                    t.startsWith(scopeName + "::")))
+            {
+                types.add(AstType.dynamicType(String.format("%s::%s", scopeName, namedNode.name())));
+            }
+            return types;
+        }
+    }
+
+    private final class ReferencedTypes extends AstNode.Visitor<List<AstType>>
+    {
+        private final List<AstType> types = new ArrayList<>();
+
+        @Override
+        public List<AstType> visitStruct(
+            AstStructNode structNode)
+        {
+            add(structNode.supertype());
+            return super.visitStruct(structNode);
+        }
+
+        @Override
+        public List<AstType> visitList(
+            AstListNode listNode)
+        {
+            add(AstType.LIST);
+            add(listNode.templateType());
+            add(listNode.lengthType());
+            add(listNode.fieldCountType());
+            return super.visitList(listNode);
+        }
+
+        @Override
+        public List<AstType> visitMember(
+            AstAbstractMemberNode memberNode)
+        {
+            memberNode.types().forEach(this::add);
+            add(memberNode.sizeType());
+            if (memberNode instanceof AstListMemberNode && ((AstListMemberNode) memberNode).typeParams() != null)
+            {
+                ((AstListMemberNode) memberNode).typeParams().forEach(this::add);
+            }
+            return defaultResult();
+        }
+
+        @Override
+        public List<AstType> visitEnum(
+            AstEnumNode enumNode)
+        {
+            add(enumNode.valueType());
+            return defaultResult();
+        }
+
+        @Override
+        public List<AstType> visitUnion(
+            AstUnionNode unionNode)
+        {
+            add(unionNode.superType());
+            add(unionNode.kindType());
+            return super.visitUnion(unionNode);
+        }
+
+        @Override
+        public List<AstType> visitCase(
+            AstUnionCaseNode caseNode)
+        {
+            return visitMember(caseNode.member());
+        }
+
+        @Override
+        public List<AstType> visitVariant(
+            AstVariantNode variantNode)
+        {
+            add(variantNode.of());
+            add(variantNode.kindType());
+            return super.visitVariant(variantNode);
+        }
+
+        @Override
+        public List<AstType> visitVariantCase(
+            AstVariantCaseNode variantCaseNode)
+        {
+            add(variantCaseNode.type());
+            if (variantCaseNode.typeParams() != null)
+            {
+                variantCaseNode.typeParams().forEach(this::add);
+            }
+            return defaultResult();
+        }
+
+        @Override
+        public List<AstType> visitMap(
+            AstMapNode mapNode)
+        {
+            add(AstType.MAP);
+            add(mapNode.templateMapType());
+            add(mapNode.keyType());
+            add(mapNode.valueType());
+            return defaultResult();
+        }
+
+        @Override
+        public List<AstType> visitTypedef(
+            AstTypedefNode typedefNode)
+        {
+            AstNamedNode originalNode = resolver.resolve(typedefNode.originalType().name());
+            return originalNode != null ? originalNode.accept(this) : defaultResult();
+        }
+
+        @Override
+        protected List<AstType> defaultResult()
+        {
+            return types;
+        }
+
+        private void add(
+            AstType type)
+        {
+            if (type != null)
+            {
+                types.add(type);
+            }
+        }
+
+        @Override
+        protected List<AstType> aggregateResult(
+            List<AstType> aggregate,
+            List<AstType> nextResult)
+        {
+            return types;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.util.Collections.emptyEnumeration;
+import static java.util.Collections.enumeration;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+final class ResourceIndex
+{
+    private static final String RESOURCE_PREFIX = "META-INF/reaktivity/";
+    private static final String RESOURCE_SUFFIX = ".idl";
+    private static final String CORE_SUFFIX = ".core";
+
+    private static final Map<String, ArchiveIndex> ARCHIVE_INDEXES = new ConcurrentHashMap<>();
+
+    private final Map<String, URL> resources = new HashMap<>();
+    private final Consumer<String> warn;
+
+    ResourceIndex(
+        Consumer<String> warn)
+    {
+        this.warn = warn;
+    }
+
+    ResourceIndex addDirectory(
+        File directory) throws IOException
+    {
+        Path root = directory.getAbsoluteFile().toPath();
+        if (Files.isDirectory(root))
+        {
+            List<Path> paths;
+            try (Stream<Path> walk = Files.walk(root))
+            {
+                paths = walk.filter(p -> isIndexed(p.toString()))
+                            .filter(Files::isRegularFile)
+                            .sorted()
+                            .collect(Collectors.toList());
+            }
+
+            for (Path path : paths)
+            {
+                String name = root.relativize(path).toString().replace(File.separatorChar, '/');
+                add(name, path.toUri().toURL());
+            }
+        }
+        return this;
+    }
+
+    ResourceIndex addClasspathElement(
+        File element) throws IOException
+    {
+        if (element.isDirectory())
+        {
+            addDirectory(new File(element, RESOURCE_PREFIX));
+        }
+        else if (element.isFile())
+        {
+            for (Map.Entry<String, URL> entry : archiveIndex(element.getAbsoluteFile()).entrySet())
+            {
+                add(entry.getKey(), entry.getValue());
+            }
+        }
+        return this;
+    }
+
+    URL lookup(
+        String name)
+    {
+        return resources.get(name);
+    }
+
+    int size()
+    {
+        return resources.size();
+    }
+
+    ClassLoader newClassLoader(
+        ClassLoader parent)
+    {
+        return new IndexedClassLoader(this, parent);
+    }
+
+    private void add(
+        String name,
+        URL resource)
+    {
+        URL existing = resources.putIfAbsent(name, resource);
+        if (existing != null && !sameContent(existing, resource))
+        {
+            warn.accept(String.format("Ambiguous resource %s found in %s and %s, using the first", name, existing, resource));
+        }
+    }
+
+    private static boolean sameContent(
+        URL resource1,
+        URL resource2)
+    {
+        try
+        {
+            return Arrays.equals(Parser.readResource(resource1), Parser.readResource(resource2));
+        }
+        catch (IOException ex)
+        {
+            return false;
+        }
+    }
+
+    private static boolean isIndexed(
+        String name)
+    {
+        return name.endsWith(RESOURCE_SUFFIX) || name.endsWith(CORE_SUFFIX);
+    }
+
+    private static Map<String, URL> archiveIndex(
+        File archive)
+    {
+        String key = archive.getPath();
+        long length = archive.length();
+        long lastModified = archive.lastModified();
+
+        ArchiveIndex index = ARCHIVE_INDEXES.get(key);
+        if (index == null || index.length != length || index.lastModified != lastModified)
+        {
+            index = new ArchiveIndex(length, lastModified, scanArchive(archive));
+            ARCHIVE_INDEXES.put(key, index);
+        }
+        return index.resources;
+    }
+
+    private static Map<String, URL> scanArchive(
+        File archive)
+    {
+        Map<String, URL> resources = new LinkedHashMap<>();
+        URI archiveURI = archive.toURI();
+        try (ZipFile zip = new ZipFile(archive))
+        {
+            for (Iterator<? extends ZipEntry> i = zip.entries().asIterator(); i.hasNext();)
+            {
+                ZipEntry entry = i.next();
+                String entryName = entry.getName();
+                if (!entry.isDirectory() && entryName.startsWith(RESOURCE_PREFIX) && isIndexed(entryName))
+                {
+                    String name = entryName.substring(RESOURCE_PREFIX.length());
+                    resources.put(name, URI.create(String.format("jar:%s!/%s", archiveURI, entryName)).toURL());
+                }
+            }
+        }
+        catch (IOException ex)
+        {
+            // not an archive, nothing to index
+            return Map.of();
+        }
+        return unmodifiableMap(resources);
+    }
+
+    private static final class ArchiveIndex
+    {
+        private final long length;
+        private final long lastModified;
+        private final Map<String, URL> resources;
+
+        private ArchiveIndex(
+            long length,
+            long lastModified,
+            Map<String, URL> resources)
+        {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.resources = resources;
+        }
+    }
+
+    private static final class IndexedClassLoader extends ClassLoader
+    {
+        private final ResourceIndex index;
+
+        private IndexedClassLoader(
+            ResourceIndex index,
+            ClassLoader parent)
+        {
+            super(parent);
+            this.index = index;
+        }
+
+        @Override
+        protected URL findResource(
+            String name)
+        {
+            return index.lookup(name);
+        }
+
+        @Override
+        protected Enumeration<URL> findResources(
+            String name)
+        {
+            URL resource = index.lookup(name);
+            return resource != null ? enumeration(singletonList(resource)) : emptyEnumeration();
+        }
+    }
+}
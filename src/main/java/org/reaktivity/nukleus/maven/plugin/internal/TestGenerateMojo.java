@@ -29,7 +29,8 @@ import org.apache.maven.plugins.annotations.Parameter;
 @Mojo(name = "test-generate",
       defaultPhase = GENERATE_TEST_SOURCES,
       requiresDependencyResolution = TEST,
-      requiresProject = true)
+      requiresProject = true,
+      threadSafe = true)
 public final class TestGenerateMojo extends AbstractMojo
 {
     @Parameter(defaultValue = "")
@@ -38,6 +39,33 @@ public final class TestGenerateMojo extends AbstractMojo
     @Parameter(defaultValue = "${project.build.directory}/generated-test-sources/reaktivity")
     protected File testOutputDirectory;
 
+    @Parameter(defaultValue = "false")
+    protected boolean force;
+
+    @Parameter(defaultValue = "${project.build.directory}")
+    protected File reportDirectory;
+
+    @Parameter(defaultValue = "false")
+    protected boolean reachableOnly;
+
+    @Parameter(defaultValue = "false")
+    protected boolean layoutReport;
+
+    @Parameter(defaultValue = "0")
+    protected int estimatedMethodBudget;
+
+    @Parameter(defaultValue = "false")
+    protected boolean lazyListWrap;
+
+    @Parameter(defaultValue = "false")
+    protected boolean lazyStructWrap;
+
+    @Parameter
+    protected String rootTypes;
+
+    @Parameter
+    protected String corePackageName;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException
     {
@@ -62,6 +90,17 @@ public final class TestGenerateMojo extends AbstractMojo
         generator.setInputDirectory(inputDirectory);
         generator.setOutputDirectory(testOutputDirectory);
         generator.setScopeNames(scopeNames);
+        generator.setForce(force);
+        generator.setParallelism(parallelism);
+        generator.setAstCacheDirectory(astCacheDirectory);
+        generator.setReportDirectory(reportDirectory);
+        generator.setReachableOnly(reachableOnly);
+        generator.setLayoutReport(layoutReport);
+        generator.setEstimatedMethodBudget(estimatedMethodBudget);
+        generator.setLazyListWrap(lazyListWrap);
+        generator.setLazyStructWrap(lazyStructWrap);
+        generator.setRootTypes(rootTypes);
+        generator.setCorePackageName(corePackageName);
         generator.generate(createLoader());
         project.addTestCompileSourceRoot(testOutputDirectory.getPath());
     }
@@ -17,23 +17,34 @@ package org.reaktivity.nukleus.maven.plugin.internal;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.apache.maven.plugins.annotations.LifecyclePhase.PROCESS_RESOURCES;
 import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
 
 @Mojo(name = "validate",
       defaultPhase = PROCESS_RESOURCES,
       requiresDependencyResolution = COMPILE,
-      requiresProject = true)
+      requiresProject = true,
+      threadSafe = true)
 public final class ValidateMojo extends AbstractMojo
 {
+    @Parameter(defaultValue = "")
+    protected String lint;
+
+    private int lintErrors;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException
     {
@@ -41,15 +52,47 @@ public final class ValidateMojo extends AbstractMojo
         {
             executeImpl();
         }
+        catch (IllegalArgumentException e)
+        {
+            throw new MojoExecutionException("Invalid lint configuration", e);
+        }
         catch (IOException | CancellationException e)
         {
             throw new MojoFailureException("Validate failed", e);
         }
+
+        if (lintErrors != 0)
+        {
+            throw new MojoFailureException(String.format("Performance lint failed with %d errors", lintErrors));
+        }
     }
 
     protected void executeImpl() throws IOException
     {
         List<String> targetScopes = unmodifiableList(asList(scopeNames.split("\\s+")));
-        parseAST(targetScopes);
+        List<AstSpecificationNode> specifications = parseAST(targetScopes);
+
+        PerformanceLint linter = new PerformanceLint(lint != null ? lint : "");
+        if (linter.isEnabled())
+        {
+            Set<String> lintScopes = targetScopes.stream().map(s -> s.replaceAll("::.*", "")).collect(toSet());
+            List<AstSpecificationNode> lintSpecifications = specifications.stream()
+                    .filter(s -> lintScopes.contains(s.scope().name()))
+                    .collect(toList());
+
+            lintErrors = 0;
+            for (PerformanceLint.Finding finding : linter.lint(lintSpecifications))
+            {
+                if (finding.severity() == PerformanceLint.Severity.ERROR)
+                {
+                    getLog().error(finding.toString());
+                    lintErrors++;
+                }
+                else
+                {
+                    getLog().warn(finding.toString());
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+@Mojo(name = "watch",
+      requiresDependencyResolution = COMPILE,
+      requiresProject = true,
+      threadSafe = true)
+public final class WatchMojo extends AbstractMojo
+{
+    @Parameter(defaultValue = "")
+    protected String packageName;
+
+    @Parameter(defaultValue = "${project.build.directory}/generated-sources/reaktivity")
+    protected File outputDirectory;
+
+    @Parameter(defaultValue = "${project.build.directory}")
+    protected File reportDirectory;
+
+    @Parameter(defaultValue = "false")
+    protected boolean reachableOnly;
+
+    @Parameter(defaultValue = "false")
+    protected boolean layoutReport;
+
+    @Parameter(defaultValue = "0")
+    protected int estimatedMethodBudget;
+
+    @Parameter(defaultValue = "false")
+    protected boolean lazyListWrap;
+
+    @Parameter(defaultValue = "false")
+    protected boolean lazyStructWrap;
+
+    @Parameter
+    protected String rootTypes;
+
+    @Parameter
+    protected String corePackageName;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException
+    {
+        try
+        {
+            executeImpl();
+        }
+        catch (IOException e)
+        {
+            throw new MojoFailureException("Unable to watch sources", e);
+        }
+    }
+
+    @Override
+    protected void executeImpl() throws IOException
+    {
+        Generator generator = new Generator();
+        generator.debug(getLog()::debug);
+        generator.error(getLog()::error);
+        generator.warn(getLog()::warn);
+        generator.setPackageName(packageName);
+        generator.setInputDirectory(inputDirectory);
+        generator.setOutputDirectory(outputDirectory);
+        generator.setScopeNames(scopeNames);
+        generator.setParallelism(parallelism);
+        generator.setAstCacheDirectory(astCacheDirectory);
+        generator.setReportDirectory(reportDirectory);
+        generator.setReachableOnly(reachableOnly);
+        generator.setLayoutReport(layoutReport);
+        generator.setEstimatedMethodBudget(estimatedMethodBudget);
+        generator.setLazyListWrap(lazyListWrap);
+        generator.setLazyStructWrap(lazyStructWrap);
+        generator.setRootTypes(rootTypes);
+        generator.setCorePackageName(corePackageName);
+
+        try
+        {
+            generator.watch(this::createLoader);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.reaktivity.nukleus.maven.plugin.internal.generate.WireLayout.UNBOUNDED;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.reaktivity.nukleus.maven.plugin.internal.generate.WireLayout;
+import org.reaktivity.nukleus.maven.plugin.internal.generate.WireLayout.Field;
+
+final class WireLayoutReport
+{
+    private static final int CACHE_LINE_SIZE = 64;
+
+    private final Map<String, WireLayout> layouts = new TreeMap<>();
+    private final Map<String, int[]> bounds = new HashMap<>();
+
+    void layout(
+        WireLayout layout)
+    {
+        layouts.put(layout.typeName(), layout);
+    }
+
+    void write(
+        Path jsonPath,
+        Path summaryPath) throws IOException
+    {
+        Files.createDirectories(jsonPath.toAbsolutePath().getParent());
+        Files.write(jsonPath, toJson().getBytes(UTF_8));
+        Files.createDirectories(summaryPath.toAbsolutePath().getParent());
+        Files.write(summaryPath, toSummary().getBytes(UTF_8));
+    }
+
+    String toJson()
+    {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"types\": [");
+        String separator = "\n";
+        for (WireLayout layout : layouts.values())
+        {
+            int[] size = bounds(layout.typeName(), new HashSet<>());
+            json.append(separator);
+            json.append("    { \"name\": ").append(quote(layout.typeName()))
+                .append(", \"header\": ").append(layout.headerSize())
+                .append(", \"presence\": ").append(quote(layout.presence().name().toLowerCase()))
+                .append(", \"bitmask\": ").append(layout.bitmaskSize())
+                .append(", \"min\": ").append(size[0])
+                .append(", \"max\": ").append(bound(size[1], "null"))
+                .append(", \"fields\": [");
+            String fieldSeparator = "\n";
+            for (Field field : layout.fields())
+            {
+                int[] fieldSize = bounds(field, new HashSet<>());
+                json.append(fieldSeparator);
+                json.append("      { \"name\": ").append(quote(field.name()))
+                    .append(", \"type\": ").append(quote(field.type()))
+                    .append(", \"anchor\": ").append(field.anchor() != null ? quote(field.anchor()) : "null")
+                    .append(", \"offset\": ").append(field.offset())
+                    .append(", \"min\": ").append(fieldSize[0])
+                    .append(", \"max\": ").append(bound(fieldSize[1], "null"))
+                    .append(", \"required\": ").append(field.isRequired())
+                    .append(" }");
+                fieldSeparator = ",\n";
+            }
+            json.append(layout.fields().isEmpty() ? "] }" : "\n    ] }");
+            separator = ",\n";
+        }
+        json.append(layouts.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    String toSummary()
+    {
+        StringBuilder summary = new StringBuilder();
+        for (WireLayout layout : layouts.values())
+        {
+            int[] size = bounds(layout.typeName(), new HashSet<>());
+            int fixedPrefix = layout.headerSize();
+            int anchored = 0;
+            for (Field field : layout.fields())
+            {
+                if (field.anchor() != null)
+                {
+                    anchored++;
+                }
+                else if (field.minSize() == field.maxSize())
+                {
+                    fixedPrefix = Math.max(fixedPrefix, field.offset() + field.minSize());
+                }
+            }
+
+            summary.append(layout.typeName()).append('\n');
+            summary.append(String.format("  size %d..%s bytes, header %d bytes, presence %s, bitmask %d bytes%n",
+                    size[0], bound(size[1], "unbounded"), layout.headerSize(),
+                    layout.presence().name().toLowerCase(), layout.bitmaskSize()));
+            summary.append(String.format("  fixed prefix %d bytes (%d cache lines), %d of %d fields behind variable anchors%n",
+                    fixedPrefix, (fixedPrefix + CACHE_LINE_SIZE - 1) / CACHE_LINE_SIZE, anchored, layout.fields().size()));
+            for (Field field : layout.fields())
+            {
+                int[] fieldSize = bounds(field, new HashSet<>());
+                String offset = field.anchor() != null ? String.format("%s+%d", field.anchor(), field.offset())
+                                                       : Integer.toString(field.offset());
+                String range = fieldSize[0] == fieldSize[1] ? Integer.toString(fieldSize[0])
+                        : String.format("%d..%s", fieldSize[0], bound(fieldSize[1], "unbounded"));
+                summary.append(String.format("    %-32s @%-32s %20s bytes%s%n",
+                        field.name(), offset, range, field.isRequired() ? "" : " (optional)"));
+            }
+        }
+        return summary.toString();
+    }
+
+    private int[] bounds(
+        String typeName,
+        Set<String> visiting)
+    {
+        int[] size = bounds.get(typeName);
+        if (size == null)
+        {
+            WireLayout layout = layouts.get(typeName);
+            if (layout == null || !visiting.add(typeName))
+            {
+                return null;
+            }
+
+            int min = layout.headerSize();
+            int max = layout.headerSize();
+            for (Field field : layout.fields())
+            {
+                int[] fieldSize = bounds(field, visiting);
+                min += field.isRequired() ? fieldSize[0] : 0;
+                max = max == UNBOUNDED || fieldSize[1] == UNBOUNDED ? UNBOUNDED : max + fieldSize[1];
+            }
+
+            visiting.remove(typeName);
+            size = new int[] { min, max };
+            bounds.put(typeName, size);
+        }
+        return size;
+    }
+
+    private int[] bounds(
+        Field field,
+        Set<String> visiting)
+    {
+        int[] size = null;
+        if (field.minSize() == 0 && field.maxSize() == UNBOUNDED)
+        {
+            size = bounds(field.type(), visiting);
+        }
+        return size != null ? size : new int[] { field.minSize(), field.maxSize() };
+    }
+
+    private static String bound(
+        int size,
+        String unbounded)
+    {
+        return size == UNBOUNDED ? unbounded : Integer.toString(size);
+    }
+
+    private static String quote(
+        String value)
+    {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -19,6 +19,7 @@ import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.requireNonNull;
 import static org.reaktivity.nukleus.maven.plugin.internal.ast.AstByteOrder.NATIVE;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -26,7 +27,9 @@ import java.util.Objects;
 
 public abstract class AstAbstractMemberNode extends AstNode
 {
-    public static final Object NULL_DEFAULT = new Object();
+    private static final long serialVersionUID = 1L;
+
+    public static final Object NULL_DEFAULT = new NullDefault();
 
     protected final String name;
     protected final List<AstType> types;
@@ -166,6 +169,16 @@ public abstract class AstAbstractMemberNode extends AstNode
         return c;
     }
 
+    private static final class NullDefault implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private Object readResolve()
+        {
+            return NULL_DEFAULT;
+        }
+    }
+
     public abstract static class Builder<T extends AstAbstractMemberNode> extends AstNode.Builder
     {
         protected String name;
@@ -23,6 +23,8 @@ import java.util.Objects;
 
 public final class AstEnumNode extends AstNamedNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final List<AstValueNode> values;
     private final AstType valueType;
 
@@ -23,6 +23,8 @@ import java.util.Objects;
 
 public final class AstListMemberNode extends AstAbstractMemberNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final List<AstType> typeParams;
     private final boolean required;
 
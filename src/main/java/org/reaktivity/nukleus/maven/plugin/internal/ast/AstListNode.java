@@ -26,6 +26,8 @@ import org.reaktivity.nukleus.maven.plugin.internal.ast.AstVariantNode.Builder;
 
 public final class AstListNode extends AstNamedNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final List<AstListMemberNode> members;
     private final AstType templateType;
     private final AstType lengthType;
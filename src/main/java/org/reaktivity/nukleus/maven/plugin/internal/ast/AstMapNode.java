@@ -19,6 +19,8 @@ import java.util.Objects;
 
 public final class AstMapNode extends AstNamedNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final AstType templateMapType;
     private final AstType keyType;
     private final AstType valueType;
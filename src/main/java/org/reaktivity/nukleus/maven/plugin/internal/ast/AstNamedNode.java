@@ -19,6 +19,8 @@ import static java.util.Objects.requireNonNull;
 
 public abstract class AstNamedNode extends AstNode
 {
+    private static final long serialVersionUID = 1L;
+
     public enum Kind
     {
         SCOPE, STRUCT, UNION, VARIANT, LIST, ENUM, TYPEDEF, MAP, DEFAULT
@@ -17,10 +17,13 @@ package org.reaktivity.nukleus.maven.plugin.internal.ast;
 
 import static java.util.stream.Collectors.reducing;
 
+import java.io.Serializable;
 import java.util.stream.Stream;
 
-public abstract class AstNode
+public abstract class AstNode implements Serializable
 {
+    private static final long serialVersionUID = 1L;
+
     public abstract <R> R accept(
         Visitor<R> visitor);
 
@@ -24,6 +24,8 @@ import java.util.Objects;
 
 public final class AstScopeNode extends AstNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final int depth;
     private final String name;
     private final List<AstScopeNode> scopes;
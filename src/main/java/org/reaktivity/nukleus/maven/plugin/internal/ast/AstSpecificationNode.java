@@ -21,6 +21,8 @@ import java.util.Objects;
 
 public final class AstSpecificationNode extends AstNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final AstScopeNode scope;
 
     @Override
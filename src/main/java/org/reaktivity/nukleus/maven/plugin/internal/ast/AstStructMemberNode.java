@@ -19,6 +19,8 @@ import java.util.List;
 
 public final class AstStructMemberNode extends AstAbstractMemberNode
 {
+    private static final long serialVersionUID = 1L;
+
     private AstStructMemberNode(
         String name,
         List<AstType> types,
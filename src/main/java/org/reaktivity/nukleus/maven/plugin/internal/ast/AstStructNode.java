@@ -26,6 +26,8 @@ import java.util.Optional;
 
 public final class AstStructNode extends AstNamedNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final int typeId;
     private final AstType supertype;
     private final List<AstStructMemberNode> members;
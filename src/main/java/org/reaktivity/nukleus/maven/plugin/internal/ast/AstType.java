@@ -17,14 +17,17 @@ package org.reaktivity.nukleus.maven.plugin.internal.ast;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
-public final class AstType
+public final class AstType implements Serializable
 {
+    private static final long serialVersionUID = 1L;
+
     public static final AstType INT8 = new AstType("int8", 8);
     public static final AstType INT16 = new AstType("int16", 16);
     public static final AstType INT24 = new AstType("int24", 24);
@@ -149,6 +152,11 @@ public final class AstType
         return name;
     }
 
+    private Object readResolve()
+    {
+        return AST_TYPES.stream().filter(this::equals).findFirst().orElse(this);
+    }
+
     public static AstType dynamicType(
         String scopedName)
     {
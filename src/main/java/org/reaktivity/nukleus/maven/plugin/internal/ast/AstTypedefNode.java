@@ -19,6 +19,8 @@ import java.util.Objects;
 
 public final class AstTypedefNode extends AstNamedNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final AstType originalType;
 
     @Override
@@ -19,6 +19,8 @@ import java.util.Objects;
 
 public final class AstUnionCaseNode extends AstNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final Object value;
     private final AstStructMemberNode member;
 
@@ -59,7 +61,7 @@ public final class AstUnionCaseNode extends AstNode
         }
 
         AstUnionCaseNode that = (AstUnionCaseNode) o;
-        return this.value == that.value &&
+        return Objects.equals(this.value, that.value) &&
                 Objects.equals(this.member, that.member);
     }
 
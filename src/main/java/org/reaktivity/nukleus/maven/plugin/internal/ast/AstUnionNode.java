@@ -23,6 +23,8 @@ import java.util.Objects;
 
 public final class AstUnionNode extends AstNamedNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final List<AstUnionCaseNode> cases;
     private final AstType superType;
     private final AstType kindType;
@@ -21,6 +21,8 @@ import java.util.Objects;
 
 public final class AstValueNode extends AstNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final String name;
     private final int ordinal;
     private final Object value;
@@ -23,6 +23,8 @@ import java.util.Objects;
 
 public final class AstVariantCaseNode extends AstNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final Object value;
     private final AstType type;
     private final int missingFieldValue;
@@ -24,6 +24,8 @@ import java.util.Objects;
 
 public final class AstVariantNode extends AstNamedNode
 {
+    private static final long serialVersionUID = 1L;
+
     private final AstType ofType;
     private final AstType kindType;
     private final List<AstVariantCaseNode> cases;
@@ -15,11 +15,14 @@
  */
 package org.reaktivity.nukleus.maven.plugin.internal.ast.visit;
 
+import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstByteOrder;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstEnumNode;
@@ -29,6 +32,7 @@ import org.reaktivity.nukleus.maven.plugin.internal.ast.AstNamedNode;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstNamedNode.Kind;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstNode;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstScopeNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstStructNode;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstType;
 import org.reaktivity.nukleus.maven.plugin.internal.ast.AstTypedefNode;
@@ -38,6 +42,7 @@ import org.reaktivity.nukleus.maven.plugin.internal.generate.EnumFlyweightGenera
 import org.reaktivity.nukleus.maven.plugin.internal.generate.EnumTypeGenerator;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.ListFlyweightGenerator;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.MapFlyweightGenerator;
+import org.reaktivity.nukleus.maven.plugin.internal.generate.MethodBudget;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.StructFlyweightGenerator;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.TypeResolver;
 import org.reaktivity.nukleus.maven.plugin.internal.generate.TypeSpecGenerator;
@@ -53,21 +58,65 @@ public final class ScopeVisitor extends AstNode.Visitor<Collection<TypeSpecGener
     private final String packageName;
     private final TypeResolver resolver;
     private final List<String> targetScopes;
+    private final Consumer<Collection<TypeSpecGenerator<?>>> emitter;
     private final Collection<TypeSpecGenerator<?>> defaultResult;
 
+    private MethodBudget methodBudget = MethodBudget.DISABLED;
+    private boolean lazyListWrap;
+    private boolean lazyStructWrap;
+
     public ScopeVisitor(
         String scopeName,
         String packageName,
         TypeResolver resolver,
         List<String> targetScopes)
+    {
+        this(scopeName, packageName, resolver, targetScopes, null);
+    }
+
+    public ScopeVisitor(
+        String scopeName,
+        String packageName,
+        TypeResolver resolver,
+        List<String> targetScopes,
+        Consumer<Collection<TypeSpecGenerator<?>>> emitter)
     {
         this.scopeName = requireNonNull(scopeName);
         this.packageName = requireNonNull(packageName);
         this.resolver = requireNonNull(resolver);
         this.targetScopes = requireNonNull(targetScopes);
+        this.emitter = emitter;
         this.defaultResult = new LinkedList<>();
     }
 
+    public ScopeVisitor methodBudget(
+        MethodBudget methodBudget)
+    {
+        this.methodBudget = requireNonNull(methodBudget);
+        return this;
+    }
+
+    public ScopeVisitor lazyListWrap(
+        boolean lazyListWrap)
+    {
+        this.lazyListWrap = lazyListWrap;
+        return this;
+    }
+
+    public ScopeVisitor lazyStructWrap(
+        boolean lazyStructWrap)
+    {
+        this.lazyStructWrap = lazyStructWrap;
+        return this;
+    }
+
+    @Override
+    public Collection<TypeSpecGenerator<?>> visitSpecification(
+        AstSpecificationNode specificationNode)
+    {
+        return unmodifiableList(new ArrayList<>(super.visitSpecification(specificationNode)));
+    }
+
     @Override
     public Collection<TypeSpecGenerator<?>> visitScope(
         AstScopeNode scopeNode)
@@ -77,7 +126,13 @@ public final class ScopeVisitor extends AstNode.Visitor<Collection<TypeSpecGener
             return defaultResult();
         }
 
-        return super.visitScope(scopeNode);
+        Collection<TypeSpecGenerator<?>> result = super.visitScope(scopeNode);
+        if (emitter != null && !result.isEmpty())
+        {
+            emitter.accept(unmodifiableList(new ArrayList<>(result)));
+            result.clear();
+        }
+        return result;
     }
 
     @Override
@@ -87,7 +142,11 @@ public final class ScopeVisitor extends AstNode.Visitor<Collection<TypeSpecGener
         String nestedName = scopeNode.name();
         String subscopeName = String.format("%s::%s", scopeName, nestedName);
         String subpackageName = String.format("%s.%s", packageName, nestedName);
-        return new ScopeVisitor(subscopeName, subpackageName, resolver, targetScopes).visitScope(scopeNode);
+        return new ScopeVisitor(subscopeName, subpackageName, resolver, targetScopes, emitter)
+            .methodBudget(methodBudget)
+            .lazyListWrap(lazyListWrap)
+            .lazyStructWrap(lazyStructWrap)
+            .visitScope(scopeNode);
     }
 
     @Override
@@ -105,6 +164,8 @@ public final class ScopeVisitor extends AstNode.Visitor<Collection<TypeSpecGener
         StructFlyweightGenerator generator = new StructFlyweightGenerator(structName, resolver.flyweightName(), baseName,
             resolver);
         generator.typeId(findTypeId(structNode));
+        generator.methodBudget(methodBudget);
+        generator.lazyWrap(lazyStructWrap);
 
         return new StructVisitor(generator, resolver).visitStruct(structNode);
     }
@@ -239,6 +300,7 @@ public final class ScopeVisitor extends AstNode.Visitor<Collection<TypeSpecGener
         AstByteOrder byteOrder = variantNode.byteOrder();
         VariantFlyweightGenerator generator = new VariantFlyweightGenerator(variantName, flyweightName, baseName,
             kindTypeName, ofType, ofTypeName, unsignedOfTypeName, resolver, byteOrder);
+        generator.methodBudget(methodBudget);
         return new VariantVisitor(generator, resolver).visitVariant(variantNode);
     }
 
@@ -261,6 +323,8 @@ public final class ScopeVisitor extends AstNode.Visitor<Collection<TypeSpecGener
         AstByteOrder byteOrder = listNode.byteOrder();
         ListFlyweightGenerator generator = new ListFlyweightGenerator(listName, resolver.resolveClass(AstType.LIST), baseName,
             templateType, lengthTypeName, fieldCountTypeName, missingFieldByte, resolver, byteOrder);
+        generator.methodBudget(methodBudget);
+        generator.lazyWrap(lazyListWrap);
         return new ListVisitor(generator, resolver).visitList(listNode);
     }
 
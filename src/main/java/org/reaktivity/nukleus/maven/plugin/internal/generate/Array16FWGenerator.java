@@ -586,6 +586,7 @@ public final class Array16FWGenerator extends ClassSpecGenerator
                 .addStatement("assert fieldCount <= LENGTH_MAX_VALUE : \"Field count is too large\"")
                 .addStatement("buffer().putShort(offset() + LENGTH_OFFSET, (short) length, byteOrder)")
                 .addStatement("buffer().putShort(offset() + FIELD_COUNT_OFFSET, (short) fieldCount, byteOrder)")
+                .beginControlFlow("if (fieldCount != 0 && itemRW.needsRebuild(maxLength))")
                 .addStatement("final ArrayFW<V> array = super.build()")
                 .addStatement("final int maxLimit = maxLimit()")
                 .addStatement("limit(fieldsOffset())")
@@ -601,6 +602,7 @@ public final class Array16FWGenerator extends ClassSpecGenerator
                 .endControlFlow()
                 .addStatement("length = limit() - offset() - FIELD_COUNT_OFFSET")
                 .addStatement("buffer().putShort(offset() + LENGTH_OFFSET, (short) length, byteOrder)")
+                .endControlFlow()
                 .addStatement("final Array16FW<V> array16 = super.build()")
                 .addStatement("array16.maxLength(maxLength)")
                 .addStatement("return array16")
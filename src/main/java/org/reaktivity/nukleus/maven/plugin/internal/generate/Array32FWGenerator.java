@@ -583,6 +583,7 @@ public final class Array32FWGenerator extends ClassSpecGenerator
                 .addStatement("int length = limit() - offset() - FIELD_COUNT_OFFSET")
                 .addStatement("buffer().putInt(offset() + LENGTH_OFFSET, length, byteOrder)")
                 .addStatement("buffer().putInt(offset() + FIELD_COUNT_OFFSET, fieldCount, byteOrder)")
+                .beginControlFlow("if (fieldCount != 0 && itemRW.needsRebuild(maxLength))")
                 .addStatement("final ArrayFW<V> array = super.build()")
                 .addStatement("final int maxLimit = maxLimit()")
                 .addStatement("limit(fieldsOffset())")
@@ -598,6 +599,7 @@ public final class Array32FWGenerator extends ClassSpecGenerator
                 .endControlFlow()
                 .addStatement("length = limit() - offset() - FIELD_COUNT_OFFSET")
                 .addStatement("buffer().putInt(offset() + LENGTH_OFFSET, length, byteOrder)")
+                .endControlFlow()
                 .addStatement("final Array32FW<V> array32 = super.build()")
                 .addStatement("array32.maxLength(maxLength)")
                 .addStatement("return array32")
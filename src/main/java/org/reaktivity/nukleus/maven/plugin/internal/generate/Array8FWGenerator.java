@@ -539,6 +539,7 @@ public final class Array8FWGenerator extends ClassSpecGenerator
                 .addStatement("assert fieldCount <= LENGTH_MAX_VALUE : \"Field count is too large\"")
                 .addStatement("buffer().putByte(offset() + LENGTH_OFFSET, (byte) length)")
                 .addStatement("buffer().putByte(offset() + FIELD_COUNT_OFFSET, (byte) fieldCount)")
+                .beginControlFlow("if (fieldCount != 0 && itemRW.needsRebuild(maxLength))")
                 .addStatement("final ArrayFW<V> array = super.build()")
                 .addStatement("final int maxLimit = maxLimit()")
                 .addStatement("limit(fieldsOffset())")
@@ -554,6 +555,7 @@ public final class Array8FWGenerator extends ClassSpecGenerator
                 .endControlFlow()
                 .addStatement("length = limit() - offset() - FIELD_COUNT_OFFSET")
                 .addStatement("buffer().putByte(offset() + LENGTH_OFFSET, (byte) length)")
+                .endControlFlow()
                 .addStatement("final Array8FW<V> array8 = super.build()")
                 .addStatement("array8.maxLength(maxLength)")
                 .addStatement("return array8")
@@ -184,8 +184,18 @@ public final class EnumFlyweightGenerator extends ClassSpecGenerator
             }
         }
 
-        String returnStatement = String.format("return %s", isValueTypeNonPrimitive() ? isStringType((ClassName) valueTypeName) ?
-            "stringRO.asString() != null ? $T.valueOf(stringRO.asString().toUpperCase()) : null" :
+        if (isValueTypeNonPrimitive() && isStringType((ClassName) valueTypeName))
+        {
+            return methodBuilder("get")
+                    .addModifiers(PUBLIC)
+                    .returns(enumTypeName)
+                    .addStatement("final $T value = $T.valueOf(stringRO)", enumTypeName, enumTypeName)
+                    .addStatement("return value != null || stringRO.length() == -1 ? value : " +
+                        "$T.valueOf(stringRO.asString().toUpperCase())", enumTypeName)
+                    .build();
+        }
+
+        String returnStatement = String.format("return %s", isValueTypeNonPrimitive() ?
             String.format("$T.valueOf(%sRO.get())", fieldName(valueTypeName)) :
             String.format("$T.valueOf(buffer().get%s(offset() + FIELD_OFFSET_VALUE)%s)", bufferType, unsignedHex));
         return methodBuilder("get")
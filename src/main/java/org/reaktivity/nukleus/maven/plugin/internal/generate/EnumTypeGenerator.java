@@ -18,20 +18,29 @@ package org.reaktivity.nukleus.maven.plugin.internal.generate;
 import static com.squareup.javapoet.MethodSpec.constructorBuilder;
 import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.enumBuilder;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
+import static org.reaktivity.nukleus.maven.plugin.internal.generate.TypeNames.DIRECT_BUFFER_TYPE;
 import static org.reaktivity.nukleus.maven.plugin.internal.generate.TypeNames.LONG_2_OBJECT_HASH_MAP_TYPE;
+import static org.reaktivity.nukleus.maven.plugin.internal.generate.TypeNames.UNSAFE_BUFFER_TYPE;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 import javax.lang.model.element.Modifier;
 
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
@@ -106,6 +115,10 @@ public final class EnumTypeGenerator extends ClassSpecGenerator
             builder.addMethod(constructor.generate())
                    .addMethod(valueMethod.generate());
         }
+        if (isValueTypeString())
+        {
+            valueOfMethod.generateValueFields();
+        }
 
         return builder.addMethod(valueOfMethod.generate())
                       .build();
@@ -277,13 +290,13 @@ public final class EnumTypeGenerator extends ClassSpecGenerator
             {
                 builder.addStatement("return VALUE_BY_LONG.get(value)");
             }
+            else if (isValueTypeString())
+            {
+                generateStringSwitch();
+            }
             else
             {
-                if (isValueTypeString())
-                {
-                    builder.addStatement("String kind = $L.asString()", discriminant);
-                }
-                builder.beginControlFlow("switch ($L)", isValueTypeString() ? "kind" : discriminant);
+                builder.beginControlFlow("switch ($L)", discriminant);
 
                 for (int index = 0; index < constantNames.size(); index++)
                 {
@@ -299,6 +312,108 @@ public final class EnumTypeGenerator extends ClassSpecGenerator
             }
             return builder.build();
         }
+
+        public void generateValueFields()
+        {
+            for (String enumConstant : constantNames)
+            {
+                EnumTypeGenerator.this.builder.addField(FieldSpec.builder(DIRECT_BUFFER_TYPE, valueField(enumConstant),
+                        PRIVATE, STATIC, FINAL)
+                    .initializer("new $T($S.getBytes($T.UTF_8))", UNSAFE_BUFFER_TYPE, stringValue(enumConstant),
+                        StandardCharsets.class)
+                    .build());
+            }
+
+            EnumTypeGenerator.this.builder.addMethod(methodBuilder("matches")
+                .addModifiers(PRIVATE, STATIC)
+                .returns(boolean.class)
+                .addParameter(DIRECT_BUFFER_TYPE, "buffer")
+                .addParameter(int.class, "offset")
+                .addParameter(DIRECT_BUFFER_TYPE, "value")
+                .beginControlFlow("for (int index = 0; index < value.capacity(); index++)")
+                .beginControlFlow("if (buffer.getByte(offset + index) != value.getByte(index))")
+                .addStatement("return false")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return true")
+                .build());
+        }
+
+        private void generateStringSwitch()
+        {
+            Map<Integer, List<String>> constantsByLength = new TreeMap<>();
+            for (String enumConstant : constantNames)
+            {
+                int length = stringValue(enumConstant).getBytes(UTF_8).length;
+                constantsByLength.computeIfAbsent(length, l -> new ArrayList<>()).add(enumConstant);
+            }
+
+            builder.addStatement("final $T buffer = value.buffer()", DIRECT_BUFFER_TYPE)
+                   .addStatement("final int offset = value.offset() + value.fieldSizeLength()")
+                   .beginControlFlow("switch (value.length())");
+            for (Map.Entry<Integer, List<String>> entry : constantsByLength.entrySet())
+            {
+                int length = entry.getKey();
+                List<String> enumConstants = entry.getValue();
+                builder.beginControlFlow("case $L:", length);
+                if (length == 0)
+                {
+                    builder.addStatement("return $N", enumConstants.get(0))
+                           .endControlFlow();
+                    continue;
+                }
+                if (enumConstants.size() > 1)
+                {
+                    Map<Byte, List<String>> constantsByFirst = new TreeMap<>();
+                    for (String enumConstant : enumConstants)
+                    {
+                        byte first = stringValue(enumConstant).getBytes(UTF_8)[0];
+                        constantsByFirst.computeIfAbsent(first, f -> new ArrayList<>()).add(enumConstant);
+                    }
+
+                    builder.beginControlFlow("switch (buffer.getByte(offset))");
+                    for (Map.Entry<Byte, List<String>> first : constantsByFirst.entrySet())
+                    {
+                        builder.beginControlFlow("case $L:", first.getKey());
+                        generateMatches(first.getValue());
+                        builder.addStatement("break")
+                               .endControlFlow();
+                    }
+                    builder.endControlFlow();
+                }
+                else
+                {
+                    generateMatches(enumConstants);
+                }
+                builder.addStatement("break")
+                       .endControlFlow();
+            }
+            builder.endControlFlow().addStatement("return null");
+        }
+
+        private void generateMatches(
+            List<String> enumConstants)
+        {
+            for (String enumConstant : enumConstants)
+            {
+                builder.beginControlFlow("if (matches(buffer, offset, $L))", valueField(enumConstant))
+                       .addStatement("return $N", enumConstant)
+                       .endControlFlow();
+            }
+        }
+
+        private String stringValue(
+            String enumConstant)
+        {
+            String value = String.valueOf(valueByConstantName.get(enumConstant));
+            return value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1) : value;
+        }
+    }
+
+    private static String valueField(
+        String enumConstant)
+    {
+        return "VALUE_" + enumConstant;
     }
 
     private boolean isParameterizedType()
@@ -26,8 +26,8 @@ import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
 import static org.reaktivity.nukleus.maven.plugin.internal.generate.TypeNames.DIRECT_BUFFER_TYPE;
 import static org.reaktivity.nukleus.maven.plugin.internal.generate.TypeNames.MUTABLE_DIRECT_BUFFER_TYPE;
-import static org.reaktivity.nukleus.maven.plugin.internal.generate.TypeNames.UNSAFE_BUFFER_TYPE;
 
+import java.nio.ByteOrder;
 import java.util.function.Consumer;
 
 import com.squareup.javapoet.ClassName;
@@ -45,6 +45,8 @@ public final class FlyweightGenerator extends ClassSpecGenerator
     private final ClassName arrayType;
     private final BuilderClassBuilder builderClassBuilder;
 
+    private String coreVersion;
+
     public FlyweightGenerator(
         ClassName flyweightType,
         ClassName arrayType)
@@ -56,15 +58,25 @@ public final class FlyweightGenerator extends ClassSpecGenerator
         this.builderClassBuilder = new BuilderClassBuilder(thisName, arrayType);
     }
 
+    public FlyweightGenerator coreVersion(
+        String coreVersion)
+    {
+        this.coreVersion = coreVersion;
+        return this;
+    }
+
     @Override
     public TypeSpec generate()
     {
+        if (coreVersion != null)
+        {
+            classBuilder.addField(coreVersionField());
+        }
+
         return classBuilder
             .addField(bufferField())
-            .addField(emptyBytesField())
             .addField(offsetField())
             .addField(maxLimitField())
-            .addField(compareBufferField())
             .addMethod(offsetMethod())
             .addMethod(bufferMethod())
             .addMethod(limitMethod())
@@ -76,6 +88,7 @@ public final class FlyweightGenerator extends ClassSpecGenerator
             .addMethod(checkLimitMethod())
             .addMethod(equalsMethod())
             .addMethod(hashCodeMethod())
+            .addMethod(hashCode64Method())
             .addType(visitorInterface())
             .addType(builderClassBuilder.build())
             .build();
@@ -98,6 +111,13 @@ public final class FlyweightGenerator extends ClassSpecGenerator
                 .build();
     }
 
+    private FieldSpec coreVersionField()
+    {
+        return FieldSpec.builder(String.class, "CORE_VERSION", PUBLIC, STATIC, FINAL)
+                .initializer("$S", coreVersion)
+                .build();
+    }
+
     private FieldSpec bufferField()
     {
         return FieldSpec.builder(DIRECT_BUFFER_TYPE, "buffer", PRIVATE).build();
@@ -113,20 +133,6 @@ public final class FlyweightGenerator extends ClassSpecGenerator
         return FieldSpec.builder(int.class, "maxLimit", PRIVATE).build();
     }
 
-    private FieldSpec compareBufferField()
-    {
-        return FieldSpec.builder(UNSAFE_BUFFER_TYPE, "compareBuffer", PRIVATE)
-                .initializer("new UnsafeBuffer(EMPTY_BYTES)")
-                .build();
-    }
-
-    private FieldSpec emptyBytesField()
-    {
-        return FieldSpec.builder(byte[].class, "EMPTY_BYTES", PRIVATE, STATIC)
-                .initializer("new byte[0]")
-                .build();
-    }
-
     private MethodSpec maxLimitMethod()
     {
         return methodBuilder("maxLimit")
@@ -250,9 +256,25 @@ public final class FlyweightGenerator extends ClassSpecGenerator
                   .addStatement("return false")
                   .nextControlFlow("else")
                   .addStatement("Flyweight that = (Flyweight) obj")
-                  .addStatement("compareBuffer.wrap(buffer, offset, sizeof())")
-                  .addStatement("that.compareBuffer.wrap(that.buffer, that.offset, that.sizeof())")
-                  .addStatement("return compareBuffer.equals(that.compareBuffer)")
+                  .addStatement("final int length = sizeof()")
+                  .beginControlFlow("if (length != that.sizeof())")
+                  .addStatement("return false")
+                  .endControlFlow()
+                  .addStatement("final int delta = that.offset - offset")
+                  .addStatement("final int limit = offset + length")
+                  .addStatement("final int wordLimit = offset + (length & ~7)")
+                  .addStatement("int index = offset")
+                  .beginControlFlow("for (; index < wordLimit; index += 8)")
+                  .beginControlFlow("if (buffer.getLong(index) != that.buffer.getLong(index + delta))")
+                  .addStatement("return false")
+                  .endControlFlow()
+                  .endControlFlow()
+                  .beginControlFlow("for (; index < limit; index++)")
+                  .beginControlFlow("if (buffer.getByte(index) != that.buffer.getByte(index + delta))")
+                  .addStatement("return false")
+                  .endControlFlow()
+                  .endControlFlow()
+                  .addStatement("return true")
                   .endControlFlow()
                   .build();
     }
@@ -263,11 +285,34 @@ public final class FlyweightGenerator extends ClassSpecGenerator
                   .addAnnotation(Override.class)
                   .addModifiers(PUBLIC)
                   .returns(int.class)
-                  .addStatement("int result = 1")
-                  .beginControlFlow("for (int i = offset; i < limit(); i++)")
-                  .addStatement("result = 31 * result + buffer.getByte(i)")
+                  .addStatement("final long hash = hashCode64()")
+                  .addStatement("return (int) (hash ^ hash >>> 32)")
+                  .build();
+    }
+
+    private MethodSpec hashCode64Method()
+    {
+        return methodBuilder("hashCode64")
+                  .addModifiers(PUBLIC)
+                  .returns(long.class)
+                  .addStatement("final int length = sizeof()")
+                  .addStatement("final int limit = offset + length")
+                  .addStatement("final int wordLimit = offset + (length & ~7)")
+                  .addStatement("long hash = 0x9e3779b97f4a7c15L ^ length")
+                  .addStatement("int index = offset")
+                  .beginControlFlow("for (; index < wordLimit; index += 8)")
+                  .addStatement("final long word = buffer.getLong(index, $T.LITTLE_ENDIAN) * 0x87c37b91114253d5L",
+                          ByteOrder.class)
+                  .addStatement("hash = Long.rotateLeft(hash ^ Long.rotateLeft(word, 31), 27) * 0x4cf5ad432745937fL")
                   .endControlFlow()
-                  .addStatement("return result")
+                  .addStatement("long tail = 0L")
+                  .beginControlFlow("for (int shift = 0; index < limit; index++, shift += 8)")
+                  .addStatement("tail |= (buffer.getByte(index) & 0xffL) << shift")
+                  .endControlFlow()
+                  .addStatement("hash ^= Long.rotateLeft(tail * 0x87c37b91114253d5L, 31) * 0x4cf5ad432745937fL")
+                  .addStatement("hash = (hash ^ hash >>> 33) * 0xff51afd7ed558ccdL")
+                  .addStatement("hash = (hash ^ hash >>> 33) * 0xc4ceb9fe1a85ec53L")
+                  .addStatement("return hash ^ hash >>> 33")
                   .build();
     }
 
@@ -317,6 +362,7 @@ public final class FlyweightGenerator extends ClassSpecGenerator
                 .addMethod(wrapWithArrayMethod())
                 .addMethod(iterateMethod())
                 .addMethod(rebuildMethod())
+                .addMethod(needsRebuildMethod())
                 .addMethod(setMethod())
                 .addType(visitorInterface())
                 .build();
@@ -530,6 +576,16 @@ public final class FlyweightGenerator extends ClassSpecGenerator
                 .build();
         }
 
+        private MethodSpec needsRebuildMethod()
+        {
+            return methodBuilder("needsRebuild")
+                .addModifiers(PUBLIC)
+                .returns(boolean.class)
+                .addParameter(int.class, "maxLength")
+                .addStatement("return false")
+                .build();
+        }
+
         private MethodSpec setMethod()
         {
             return methodBuilder("set")
@@ -20,6 +20,7 @@ import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.classBuilder;
 import static java.lang.String.format;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.stream.Collectors.joining;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
@@ -55,6 +56,7 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
@@ -124,9 +126,13 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
     private final HasFieldMethodGenerator hasFieldMethod;
     private final WrapMethodGenerator wrapMethod;
     private final TryWrapMethodGenerator tryWrapMethod;
+    private final ResolveFieldMethodGenerator resolveFieldMethod;
     private final LimitMethodGenerator limitMethod;
     private final ToStringMethodGenerator toStringMethod;
     private final BuilderClassGenerator builderClass;
+    private final boolean hasBitmask;
+
+    private boolean lazyWrap;
 
     public ListFlyweightGenerator(
         ClassName listName,
@@ -144,7 +150,8 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
         this.builder = builder(listName, templateType, resolver);
         this.memberSizeConstant = new MemberSizeConstantGenerator(listName, builder, templateType, lengthTypeName,
             fieldCountTypeName, missingFieldByte);
-        this.memberOffsetConstant = new MemberOffsetConstantGenerator(listName, builder, templateType, missingFieldByte);
+        this.memberOffsetConstant = new MemberOffsetConstantGenerator(listName, builder, templateType, lengthTypeName,
+            fieldCountTypeName, missingFieldByte, resolver);
         this.maskConstant = new MaskConstantGenerator(listName, builder);
         this.fieldIndexConstant = new FieldIndexConstantGenerator(listName, builder);
         this.defaultValueConstant = new DefaultValueConstantGenerator(listName, builder, resolver);
@@ -161,10 +168,20 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
         this.hasFieldMethod = new HasFieldMethodGenerator(listName, builder, templateType, missingFieldByte);
         this.wrapMethod = new WrapMethodGenerator(missingFieldByte, templateType, resolver);
         this.tryWrapMethod = new TryWrapMethodGenerator(missingFieldByte, templateType, resolver);
+        this.resolveFieldMethod = new ResolveFieldMethodGenerator();
         this.limitMethod = new LimitMethodGenerator(lengthTypeName, templateType, resolver, byteOrder);
         this.toStringMethod = new ToStringMethodGenerator(missingFieldByte, templateType);
         this.builderClass = new BuilderClassGenerator(listName, listFWName, templateType, lengthTypeName,
             fieldCountTypeName, resolver, missingFieldByte);
+        this.hasBitmask = missingFieldByte == null && templateType == null;
+    }
+
+    public ListFlyweightGenerator lazyWrap(
+        boolean lazyWrap)
+    {
+        this.lazyWrap = lazyWrap && hasBitmask;
+        memberAccessor.lazyWrap(this.lazyWrap);
+        return this;
     }
 
     public ListFlyweightGenerator addMember(
@@ -184,6 +201,7 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
         ClassName originalMapValueName)
     {
         memberSizeConstant.addMember(name, typeName);
+        memberOffsetConstant.addMember(name, type, typeName, isRequired);
         fieldIndexConstant.addMember(name);
         maskConstant.addMember(name);
         defaultValueConstant.addMember(name, type, typeName, unsignedTypeName, defaultValue);
@@ -195,6 +213,7 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
         hasFieldMethod.addMember(name);
         wrapMethod.addMember(name, typeName, defaultValue, isRequired);
         tryWrapMethod.addMember(name, typeName, defaultValue, isRequired);
+        resolveFieldMethod.addMember(name, typeName);
         toStringMethod.addMember(name, typeName, defaultValue, isRequired);
         builderClass.addMember(name, type, typeName, unsignedTypeName, usedAsSize,
             byteOrder, isRequired, arrayItemTypeName, variantOfMapKeyType, variantOfMapValueType, mapParamName,
@@ -202,6 +221,12 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
         return this;
     }
 
+    @Override
+    public WireLayout layout()
+    {
+        return memberOffsetConstant.layout();
+    }
+
     @Override
     public TypeSpec generate()
     {
@@ -219,11 +244,20 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
         fieldsMethod.build();
         memberAccessor.build();
         hasFieldMethod.build();
+        if (lazyWrap)
+        {
+            builder.addField(long.class, "pendingFields", PRIVATE)
+                .addField(int.class, "pendingLimit", PRIVATE)
+                .addMethod(resolveFieldMethod.generate());
+        }
         return builder.addField(bitmask())
             .addMethod(wrapMethod.generate())
+            .addMethods(wrapMethod.helpers())
             .addMethod(tryWrapMethod.generate())
+            .addMethods(tryWrapMethod.helpers())
             .addMethod(limitMethod.generate())
             .addMethod(toStringMethod.generate())
+            .addMethods(toStringMethod.helpers())
             .addType(builderClass.generate())
             .build();
     }
@@ -246,16 +280,81 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
     {
         private final AstType templateType;
         private final Byte nullValue;
+        private final TypeResolver resolver;
+        private final WireLayout layout;
+
+        private String previousName;
 
         private MemberOffsetConstantGenerator(
             ClassName thisType,
             TypeSpec.Builder builder,
             AstType templateType,
-            Byte nullValue)
+            TypeName lengthTypeName,
+            TypeName fieldCountTypeName,
+            Byte nullValue,
+            TypeResolver resolver)
         {
             super(thisType, builder);
             this.templateType = templateType;
             this.nullValue = nullValue;
+            this.resolver = resolver;
+            this.layout = new WireLayout(thisType.toString());
+
+            int headerSize = sizeof(lengthTypeName) + sizeof(fieldCountTypeName);
+            if (templateType != null)
+            {
+                layout.header(headerSize, WireLayout.Presence.TEMPLATE);
+            }
+            else if (nullValue != null)
+            {
+                layout.header(headerSize, WireLayout.Presence.MISSING_FIELD_BYTE);
+            }
+            else
+            {
+                layout.header(headerSize + Long.BYTES, WireLayout.Presence.BITMASK);
+            }
+        }
+
+        public MemberOffsetConstantGenerator addMember(
+            String name,
+            AstType type,
+            TypeName typeName,
+            boolean isRequired)
+        {
+            int minSize = WireLayout.minSize(resolver, type, -1, null);
+            int maxSize = WireLayout.maxSize(resolver, type, -1, null);
+            int offset = previousName == null ? layout.headerSize() : 0;
+            layout.addField(name, typeName.toString(), previousName, offset, minSize, maxSize, isRequired);
+            previousName = name;
+            return this;
+        }
+
+        public WireLayout layout()
+        {
+            return layout;
+        }
+
+        private static int sizeof(
+            TypeName typeName)
+        {
+            int sizeof = 0;
+            if (TypeName.BYTE.equals(typeName))
+            {
+                sizeof = Byte.BYTES;
+            }
+            else if (TypeName.SHORT.equals(typeName))
+            {
+                sizeof = Short.BYTES;
+            }
+            else if (TypeName.INT.equals(typeName))
+            {
+                sizeof = Integer.BYTES;
+            }
+            else if (TypeName.LONG.equals(typeName))
+            {
+                sizeof = Long.BYTES;
+            }
+            return sizeof;
         }
 
         @Override
@@ -797,6 +896,8 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
         private final AstType templateType;
         private final AstByteOrder byteOrder;
 
+        private boolean lazyWrap;
+
         private MemberAccessorGenerator(
             ClassName thisType,
             TypeSpec.Builder builder,
@@ -812,6 +913,12 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
             this.byteOrder = byteOrder;
         }
 
+        private void lazyWrap(
+            boolean lazyWrap)
+        {
+            this.lazyWrap = lazyWrap;
+        }
+
         public MemberAccessorGenerator addMember(
             String name,
             AstType type,
@@ -895,7 +1002,8 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
                 codeBlock.add("($T)(", generateType);
             }
 
-            codeBlock.add("buffer().$L(optionalOffsets[$L]", getterName, fieldIndex(name));
+            String fieldOffset = lazyWrap ? "resolveField($L)" : "optionalOffsets[$L]";
+            codeBlock.add("buffer().$L(" + fieldOffset, getterName, fieldIndex(name));
 
             if (byteOrder == AstByteOrder.NETWORK)
             {
@@ -1044,6 +1152,10 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
             String bitmask = nullValue == null && templateType == null ? "bitmask()" : "bitmask";
             if (defaultValue != null)
             {
+                if (lazyWrap)
+                {
+                    codeBlock.addStatement("resolveField($L)", fieldIndex(name));
+                }
                 codeBlock.addStatement("return ($L & $L) != 0L ? $LRO.get() : $L", bitmask, maskConstant(name),
                     name, defaultConstant(name));
             }
@@ -1051,6 +1163,10 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
             {
                 codeBlock.addStatement("assert ($L & $L) != 0L : \"Field \\\"$L\\\" is not set\"", bitmask,
                     maskConstant(name), name);
+                if (lazyWrap)
+                {
+                    codeBlock.addStatement("resolveField($L)", fieldIndex(name));
+                }
                 codeBlock.addStatement(returnStatement, name);
             }
         }
@@ -1092,6 +1208,7 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
     private final class WrapMethodGenerator extends MethodSpecGenerator
     {
         private final List<ListField> fields = new ArrayList<>();
+        private final List<MethodSpec> helpers = new ArrayList<>();
         private final Byte missingFieldByte;
         private final AstType templateType;
         private final ClassName templateTypeName;
@@ -1117,39 +1234,46 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
             return this;
         }
 
-        private void generateWrapWithDefaultNull()
+        public List<MethodSpec> helpers()
+        {
+            return helpers;
+        }
+
+        private void generateWrapWithDefaultNull(
+            CodeBlock.Builder code,
+            boolean split)
         {
-            builder.addStatement("final int fieldCount = fieldCount()")
+            code.addStatement("final int fieldCount = fieldCount()")
                 .addStatement("bitmask = 0");
             if (templateType == null)
             {
-                builder.addStatement("int fieldLimit = offset + $L + $L", offset(FIELD_COUNT), size(FIELD_COUNT));
+                code.addStatement("int fieldLimit = offset + $L + $L", offset(FIELD_COUNT), size(FIELD_COUNT));
             }
             else
             {
-                builder.addStatement("DirectBuffer fieldsBuffer = fields()")
+                code.addStatement("DirectBuffer fieldsBuffer = fields()")
                     .addStatement("int fieldLimit = 0");
             }
 
-            builder.beginControlFlow("for (int field = $L; field < fieldCount; field++)",
+            code.beginControlFlow("for (int field = $L; field < fieldCount; field++)",
                     fieldIndex(fields.get(0).fieldName()))
                 .addStatement("checkLimit(fieldLimit + $T.SIZE_OF_BYTE, limit)", BIT_UTIL_TYPE)
                 .beginControlFlow("switch (field)");
 
+            String buffer = templateType == null ? "buffer" : "fieldsBuffer";
             for (ListField field : fields)
             {
                 String fieldName = field.fieldName();
-                builder.beginControlFlow("case $L:", fieldIndex(fieldName));
-                String buffer = templateType == null ? "buffer" : "fieldsBuffer";
+                CodeBlock.Builder wrapField = CodeBlock.builder();
                 if (field.isRequired())
                 {
-                    builder.addStatement("$LRO.wrap($L, fieldLimit, maxLimit)", fieldName, buffer)
+                    wrapField.addStatement("$LRO.wrap($L, fieldLimit, maxLimit)", fieldName, buffer)
                         .addStatement("fieldLimit = $LRO.limit()", fieldName)
                         .addStatement("bitmask |= 1 << $L", fieldIndex(fieldName));
                 }
                 else
                 {
-                    builder.beginControlFlow("if ($L.getByte(fieldLimit) != MISSING_FIELD_BYTE)", buffer)
+                    wrapField.beginControlFlow("if ($L.getByte(fieldLimit) != MISSING_FIELD_BYTE)", buffer)
                         .addStatement("$LRO.wrap($L, fieldLimit, maxLimit)", fieldName, buffer)
                         .addStatement("fieldLimit = $LRO.limit()", fieldName)
                         .addStatement("bitmask |= 1 << $L", fieldIndex(fieldName))
@@ -1158,14 +1282,16 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
                         .addStatement("fieldLimit += MISSING_FIELD_BYTE_SIZE")
                         .endControlFlow();
                 }
-                builder.addStatement("break")
-                    .endControlFlow();
+                addFieldCase(code, helpers, split, helperName("wrap", fieldName), fieldName, buffer, false,
+                    wrapField.build());
             }
         }
 
-        private void generateWrap()
+        private void generateWrap(
+            CodeBlock.Builder code,
+            boolean split)
         {
-            builder.addStatement("final long bitmask = bitmask()")
+            code.addStatement("final long bitmask = bitmask()")
                 .addStatement("int fieldLimit = offset + $L + $L", offset(BIT_MASK), size(BIT_MASK))
                 .beginControlFlow("for (int field = $L; field < $L + 1; field++)",
                     fieldIndex(fields.get(0).fieldName()), fieldIndex(fields.get(fields.size() - 1).fieldName()))
@@ -1173,83 +1299,123 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
             for (ListField field : fields)
             {
                 String fieldName = field.fieldName();
-                builder.beginControlFlow("case $L:", fieldIndex(fieldName));
+                CodeBlock.Builder wrapField = CodeBlock.builder();
                 if (field.isRequired())
                 {
-                    builder.beginControlFlow("if ((bitmask & $L) == 0)", maskConstant(fieldName))
+                    wrapField.beginControlFlow("if ((bitmask & $L) == 0)", maskConstant(fieldName))
                         .addStatement("throw new IllegalArgumentException(\"Field \\\"$L\\\" is required but not set\")",
                             fieldName)
                         .endControlFlow();
-                    if (field.type().isPrimitive())
-                    {
-                        builder.addStatement("optionalOffsets[$L] = fieldLimit", fieldIndex(fieldName))
-                            .addStatement("fieldLimit += $L", fieldSize(fieldName));
-                    }
-                    else
-                    {
-                        builder.addStatement("$LRO.wrap(buffer, fieldLimit, maxLimit)", fieldName)
-                            .addStatement("fieldLimit = $LRO.limit()", fieldName);
-                    }
                 }
                 else
                 {
-                    builder.beginControlFlow("if ((bitmask & $L) != 0)", maskConstant(fieldName));
-                    if (field.type().isPrimitive())
-                    {
-                        builder.addStatement("optionalOffsets[$L] = fieldLimit", fieldIndex(fieldName))
-                            .addStatement("fieldLimit += $L", fieldSize(fieldName));
-                    }
-                    else
-                    {
-                        builder.addStatement("$LRO.wrap(buffer, fieldLimit, maxLimit)", fieldName)
-                            .addStatement("fieldLimit = $LRO.limit()", fieldName);
-                    }
-                    builder.endControlFlow();
+                    wrapField.beginControlFlow("if ((bitmask & $L) != 0)", maskConstant(fieldName));
                 }
-                builder.addStatement("break")
-                    .endControlFlow();
+                if (field.type().isPrimitive())
+                {
+                    wrapField.addStatement("optionalOffsets[$L] = fieldLimit", fieldIndex(fieldName))
+                        .addStatement("fieldLimit += $L", fieldSize(fieldName));
+                }
+                else
+                {
+                    wrapField.addStatement("$LRO.wrap(buffer, fieldLimit, maxLimit)", fieldName)
+                        .addStatement("fieldLimit = $LRO.limit()", fieldName);
+                }
+                if (!field.isRequired())
+                {
+                    wrapField.endControlFlow();
+                }
+                addFieldCase(code, helpers, split, helperName("wrap", fieldName), fieldName, "buffer", true,
+                    wrapField.build());
             }
         }
 
-        @Override
-        public MethodSpec generate()
+        private CodeBlock generateCode(
+            boolean split)
         {
-            builder.addAnnotation(Override.class)
-                .addModifiers(PUBLIC)
-                .addParameter(DIRECT_BUFFER_TYPE, "buffer")
-                .addParameter(int.class, "offset")
-                .addParameter(int.class, "maxLimit")
-                .returns(thisName)
+            CodeBlock.Builder code = CodeBlock.builder()
                 .addStatement("super.wrap(buffer, offset, maxLimit)");
             if (templateType == null)
             {
-                builder.addStatement("checkLimit(offset + $L + $L, maxLimit)", offset(LENGTH), size(LENGTH));
+                code.addStatement("checkLimit(offset + $L + $L, maxLimit)", offset(LENGTH), size(LENGTH));
             }
             else
             {
-                builder.addStatement("$L.wrap(buffer, offset, maxLimit)", variantRO(templateTypeName));
+                code.addStatement("$L.wrap(buffer, offset, maxLimit)", variantRO(templateTypeName));
             }
-            builder.addStatement("final int limit = limit()")
+            code.addStatement("final int limit = limit()")
                 .addStatement("checkLimit(limit, maxLimit)");
+            helpers.clear();
             if (missingFieldByte == null && templateType == null)
             {
-                generateWrap();
+                generateWrap(code, split);
             }
             else
             {
-                generateWrapWithDefaultNull();
+                generateWrapWithDefaultNull(code, split);
             }
-            return builder.endControlFlow()
+            return code.endControlFlow()
                 .endControlFlow()
                 .addStatement("checkLimit(fieldLimit, limit)")
                 .addStatement("return this")
                 .build();
         }
+
+        @Override
+        public MethodSpec generate()
+        {
+            builder.addAnnotation(Override.class)
+                .addModifiers(PUBLIC)
+                .addParameter(DIRECT_BUFFER_TYPE, "buffer")
+                .addParameter(int.class, "offset")
+                .addParameter(int.class, "maxLimit")
+                .returns(thisName);
+            CodeBlock code;
+            if (lazyWrap)
+            {
+                code = generateLazyCode();
+            }
+            else
+            {
+                code = generateCode(false);
+                if (methodBudget().exceeds(builder, code))
+                {
+                    code = generateCode(true);
+                }
+            }
+            return builder.addCode(code).build();
+        }
+
+        private CodeBlock generateLazyCode()
+        {
+            CodeBlock.Builder code = CodeBlock.builder()
+                .addStatement("super.wrap(buffer, offset, maxLimit)")
+                .addStatement("checkLimit(offset + $L + $L, maxLimit)", offset(LENGTH), size(LENGTH))
+                .addStatement("final int limit = limit()")
+                .addStatement("checkLimit(limit, maxLimit)")
+                .addStatement("pendingFields = bitmask()");
+            for (ListField field : fields)
+            {
+                if (field.isRequired())
+                {
+                    String fieldName = field.fieldName();
+                    code.beginControlFlow("if ((pendingFields & $L) == 0)", maskConstant(fieldName))
+                        .addStatement("throw new IllegalArgumentException(\"Field \\\"$L\\\" is required but not set\")",
+                            fieldName)
+                        .endControlFlow();
+                }
+            }
+            return code.addStatement("pendingLimit = offset + $L + $L", offset(BIT_MASK), size(BIT_MASK))
+                .addStatement("checkLimit(pendingLimit, limit)")
+                .addStatement("return this")
+                .build();
+        }
     }
 
     private final class TryWrapMethodGenerator extends MethodSpecGenerator
     {
         private final List<ListField> fields = new ArrayList<>();
+        private final List<MethodSpec> helpers = new ArrayList<>();
         private final Byte missingFieldByte;
         private final AstType templateType;
         private final ClassName templateTypeName;
@@ -1275,6 +1441,11 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
             return this;
         }
 
+        public List<MethodSpec> helpers()
+        {
+            return helpers;
+        }
+
         @Override
         public MethodSpec generate()
         {
@@ -1283,36 +1454,94 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
                 .addParameter(DIRECT_BUFFER_TYPE, "buffer")
                 .addParameter(int.class, "offset")
                 .addParameter(int.class, "maxLimit")
-                .returns(thisName)
+                .returns(thisName);
+            CodeBlock code;
+            if (lazyWrap)
+            {
+                code = generateLazyCode();
+            }
+            else
+            {
+                code = generateCode(false);
+                if (methodBudget().exceeds(builder, code))
+                {
+                    code = generateCode(true);
+                }
+            }
+            return builder.addCode(code).build();
+        }
+
+        private CodeBlock generateLazyCode()
+        {
+            CodeBlock.Builder code = CodeBlock.builder()
+                .beginControlFlow("if (super.tryWrap(buffer, offset, maxLimit) == null)")
+                .addStatement("return null")
+                .endControlFlow()
+                .beginControlFlow("if (offset + $L + $L > maxLimit)", offset(LENGTH), size(LENGTH))
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("final int limit = limit()")
+                .beginControlFlow("if (limit > maxLimit)")
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("pendingFields = bitmask()");
+            for (ListField field : fields)
+            {
+                if (field.isRequired())
+                {
+                    code.beginControlFlow("if ((pendingFields & $L) == 0)", maskConstant(field.fieldName()))
+                        .addStatement("return null")
+                        .endControlFlow();
+                }
+            }
+            return code.addStatement("pendingLimit = offset + $L + $L", offset(BIT_MASK), size(BIT_MASK))
+                .beginControlFlow("if (pendingLimit > limit)")
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("return this")
+                .build();
+        }
+
+        private CodeBlock generateCode(
+            boolean split)
+        {
+            CodeBlock.Builder code = CodeBlock.builder()
                 .beginControlFlow("if (super.tryWrap(buffer, offset, maxLimit) == null)")
                 .addStatement("return null")
                 .endControlFlow();
             if (templateType == null)
             {
-                builder.beginControlFlow("if (offset + $L + $L > maxLimit)", offset(LENGTH),
+                code.beginControlFlow("if (offset + $L + $L > maxLimit)", offset(LENGTH),
                     size(LENGTH));
             }
             else
             {
-                builder.beginControlFlow("if ($L.tryWrap(buffer, offset, maxLimit) == null)", variantRO(templateTypeName));
+                code.beginControlFlow("if ($L.tryWrap(buffer, offset, maxLimit) == null)", variantRO(templateTypeName));
             }
-            builder.addStatement("return null")
+            code.addStatement("return null")
                 .endControlFlow()
                 .addStatement("final int limit = limit()")
                 .beginControlFlow("if (limit > maxLimit)")
                 .addStatement("return null")
                 .endControlFlow();
 
+            helpers.clear();
             if (missingFieldByte == null && templateType == null)
             {
-                generateTryWrap();
+                generateTryWrap(code, split);
             }
             else
             {
-                generateTryWrapWithDefaultNull();
+                generateTryWrapWithDefaultNull(code, split);
             }
-            return builder.endControlFlow()
-                .endControlFlow()
+            code.endControlFlow();
+            if (split)
+            {
+                code.beginControlFlow("if (fieldLimit == -1)")
+                    .addStatement("return null")
+                    .endControlFlow();
+            }
+            return code.endControlFlow()
                 .beginControlFlow("if (fieldLimit > limit)")
                 .addStatement("return null")
                 .endControlFlow()
@@ -1320,43 +1549,46 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
                 .build();
         }
 
-        private void generateTryWrapWithDefaultNull()
+        private void generateTryWrapWithDefaultNull(
+            CodeBlock.Builder code,
+            boolean split)
         {
-            builder.addStatement("final int fieldCount = fieldCount()")
+            String fail = split ? "return -1" : "return null";
+            code.addStatement("final int fieldCount = fieldCount()")
                 .addStatement("bitmask = 0");
             if (templateType == null)
             {
-                builder.addStatement("int fieldLimit = offset + $L + $L", offset(FIELD_COUNT), size(FIELD_COUNT));
+                code.addStatement("int fieldLimit = offset + $L + $L", offset(FIELD_COUNT), size(FIELD_COUNT));
             }
             else
             {
-                builder.addStatement("DirectBuffer fieldsBuffer = fields()")
+                code.addStatement("DirectBuffer fieldsBuffer = fields()")
                     .addStatement("int fieldLimit = 0");
             }
-            builder.beginControlFlow("for (int field = $L; field < fieldCount; field++)",
+            code.beginControlFlow("for (int field = $L; field < fieldCount; field++)",
                     fieldIndex(fields.get(0).fieldName()))
                 .beginControlFlow("if (fieldLimit + $T.SIZE_OF_BYTE > limit)", BIT_UTIL_TYPE)
                 .addStatement("return null")
                 .endControlFlow()
                 .beginControlFlow("switch (field)");
+            String buffer = templateType == null ? "buffer" : "fieldsBuffer";
             for (ListField field : fields)
             {
                 String fieldName = field.fieldName();
-                builder.beginControlFlow("case $L:", fieldIndex(fieldName));
-                String buffer = templateType == null ? "buffer" : "fieldsBuffer";
+                CodeBlock.Builder tryWrapField = CodeBlock.builder();
                 if (field.isRequired())
                 {
-                    builder.beginControlFlow("if ($LRO.tryWrap($L, fieldLimit, maxLimit) == null)", fieldName, buffer)
-                        .addStatement("return null")
+                    tryWrapField.beginControlFlow("if ($LRO.tryWrap($L, fieldLimit, maxLimit) == null)", fieldName, buffer)
+                        .addStatement(fail)
                         .endControlFlow()
                         .addStatement("fieldLimit = $LRO.limit()", fieldName)
                         .addStatement("bitmask |= 1 << $L", fieldIndex(fieldName));
                 }
                 else
                 {
-                    builder.beginControlFlow("if ($L.getByte(fieldLimit) != MISSING_FIELD_BYTE)", buffer)
+                    tryWrapField.beginControlFlow("if ($L.getByte(fieldLimit) != MISSING_FIELD_BYTE)", buffer)
                         .beginControlFlow("if ($LRO.tryWrap($L, fieldLimit, maxLimit) == null)", fieldName, buffer)
-                        .addStatement("return null")
+                        .addStatement(fail)
                         .endControlFlow()
                         .addStatement("fieldLimit = $LRO.limit()", fieldName)
                         .addStatement("bitmask |= 1 << $L", fieldIndex(fieldName))
@@ -1365,14 +1597,17 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
                         .addStatement("fieldLimit += MISSING_FIELD_BYTE_SIZE")
                         .endControlFlow();
                 }
-                builder.addStatement("break")
-                    .endControlFlow();
+                addFieldCase(code, helpers, split, helperName("tryWrap", fieldName), fieldName, buffer, false,
+                    tryWrapField.build());
             }
         }
 
-        private void generateTryWrap()
+        private void generateTryWrap(
+            CodeBlock.Builder code,
+            boolean split)
         {
-            builder.addStatement("final long bitmask = bitmask()")
+            String fail = split ? "return -1" : "return null";
+            code.addStatement("final long bitmask = bitmask()")
                 .addStatement("int fieldLimit = offset + $L + $L", offset(BIT_MASK), size(BIT_MASK))
                 .beginControlFlow("for (int field = $L; field < $L + 1; field++)",
                     fieldIndex(fields.get(0).fieldName()), fieldIndex(fields.get(fields.size() - 1).fieldName()))
@@ -1381,45 +1616,128 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
             for (ListField field : fields)
             {
                 String fieldName = field.fieldName();
-                builder.beginControlFlow("case $L:", fieldIndex(fieldName));
+                CodeBlock.Builder tryWrapField = CodeBlock.builder();
                 if (field.isRequired())
                 {
-                    builder.beginControlFlow("if ((bitmask & $L) == 0)", maskConstant(fieldName))
-                        .addStatement("return null")
+                    tryWrapField.beginControlFlow("if ((bitmask & $L) == 0)", maskConstant(fieldName))
+                        .addStatement(fail)
                         .endControlFlow();
-                    if (field.type().isPrimitive())
-                    {
-                        builder.addStatement("optionalOffsets[$L] = fieldLimit", fieldIndex(fieldName))
-                            .addStatement("fieldLimit += $L", fieldSize(fieldName));
-                    }
-                    else
-                    {
-                        builder.beginControlFlow("if ($LRO.tryWrap(buffer, fieldLimit, maxLimit) == null)", fieldName)
-                            .addStatement("return null")
-                            .endControlFlow()
-                            .addStatement("fieldLimit = $LRO.limit()", fieldName);
-                    }
                 }
                 else
                 {
-                    builder.beginControlFlow("if ((bitmask & $L) != 0)", maskConstant(fieldName));
-                    if (field.type().isPrimitive())
-                    {
-                        builder.addStatement("optionalOffsets[$L] = fieldLimit", fieldIndex(fieldName))
-                            .addStatement("fieldLimit += $L", fieldSize(fieldName));
-                    }
-                    else
-                    {
-                        builder.beginControlFlow("if ($LRO.tryWrap(buffer, fieldLimit, maxLimit) == null)", fieldName)
-                            .addStatement("return null")
-                            .endControlFlow()
-                            .addStatement("fieldLimit = $LRO.limit()", fieldName);
-                    }
-                    builder.endControlFlow();
+                    tryWrapField.beginControlFlow("if ((bitmask & $L) != 0)", maskConstant(fieldName));
+                }
+                if (field.type().isPrimitive())
+                {
+                    tryWrapField.addStatement("optionalOffsets[$L] = fieldLimit", fieldIndex(fieldName))
+                        .addStatement("fieldLimit += $L", fieldSize(fieldName));
+                }
+                else
+                {
+                    tryWrapField.beginControlFlow("if ($LRO.tryWrap(buffer, fieldLimit, maxLimit) == null)", fieldName)
+                        .addStatement(fail)
+                        .endControlFlow()
+                        .addStatement("fieldLimit = $LRO.limit()", fieldName);
+                }
+                if (!field.isRequired())
+                {
+                    tryWrapField.endControlFlow();
+                }
+                addFieldCase(code, helpers, split, helperName("tryWrap", fieldName), fieldName, "buffer", true,
+                    tryWrapField.build());
+            }
+        }
+    }
+
+    private static void addFieldCase(
+        CodeBlock.Builder code,
+        List<MethodSpec> helpers,
+        boolean split,
+        String helperName,
+        String fieldName,
+        String buffer,
+        boolean bitmask,
+        CodeBlock fieldCode)
+    {
+        code.beginControlFlow("case $L:", fieldIndex(fieldName));
+        if (split)
+        {
+            List<ParameterSpec> parameters = new ArrayList<>();
+            parameters.add(ParameterSpec.builder(DIRECT_BUFFER_TYPE, buffer).build());
+            parameters.add(ParameterSpec.builder(int.class, "fieldLimit").build());
+            parameters.add(ParameterSpec.builder(int.class, "maxLimit").build());
+            if (bitmask)
+            {
+                parameters.add(ParameterSpec.builder(long.class, "bitmask").build());
+            }
+            parameters.removeIf(p -> !"fieldLimit".equals(p.name) && !MethodBudget.references(fieldCode, p.name));
+            helpers.add(methodBuilder(helperName)
+                .addModifiers(PRIVATE)
+                .addParameters(parameters)
+                .returns(int.class)
+                .addCode(fieldCode)
+                .addStatement("return fieldLimit")
+                .build());
+            code.addStatement("fieldLimit = $L($L)", helperName,
+                parameters.stream().map(p -> p.name).collect(joining(", ")));
+        }
+        else
+        {
+            code.add(fieldCode);
+        }
+        code.addStatement("break")
+            .endControlFlow();
+    }
+    private final class ResolveFieldMethodGenerator extends MethodSpecGenerator
+    {
+        private final List<ListField> fields = new ArrayList<>();
+
+        private ResolveFieldMethodGenerator()
+        {
+            super(methodBuilder("resolveField"));
+        }
+
+        public ResolveFieldMethodGenerator addMember(
+            String name,
+            TypeName type)
+        {
+            fields.add(new ListField(name, type, false, null));
+            return this;
+        }
+
+        @Override
+        public MethodSpec generate()
+        {
+            builder.addModifiers(PRIVATE)
+                .addParameter(int.class, "index")
+                .returns(int.class)
+                .addStatement("final long mask = (2L << index) - 1")
+                .beginControlFlow("while ((pendingFields & mask) != 0L)")
+                .addStatement("final int field = $T.numberOfTrailingZeros(pendingFields)", Long.class)
+                .addStatement("optionalOffsets[field] = pendingLimit")
+                .beginControlFlow("switch (field)");
+            for (ListField field : fields)
+            {
+                String fieldName = field.fieldName();
+                builder.beginControlFlow("case $L:", fieldIndex(fieldName));
+                if (field.type().isPrimitive())
+                {
+                    builder.addStatement("pendingLimit += $L", fieldSize(fieldName))
+                        .addStatement("checkLimit(pendingLimit, limit())");
+                }
+                else
+                {
+                    builder.addStatement("$LRO.wrap(buffer(), pendingLimit, limit())", fieldName)
+                        .addStatement("pendingLimit = $LRO.limit()", fieldName);
                 }
                 builder.addStatement("break")
                     .endControlFlow();
             }
+            return builder.endControlFlow()
+                .addStatement("pendingFields &= pendingFields - 1")
+                .endControlFlow()
+                .addStatement("return optionalOffsets[index]")
+                .build();
         }
     }
 
@@ -1474,6 +1792,7 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
     private final class ToStringMethodGenerator extends MethodSpecGenerator
     {
         private final List<ListField> fields = new ArrayList<>();
+        private final List<MethodSpec> helpers = new ArrayList<>();
         private final Byte nullValue;
         private final AstType templateType;
 
@@ -1499,22 +1818,38 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
             return this;
         }
 
+        public List<MethodSpec> helpers()
+        {
+            return helpers;
+        }
+
         @Override
         public MethodSpec generate()
+        {
+            CodeBlock code = generateCode();
+            if (methodBudget().exceeds(builder, code))
+            {
+                code = generateSplitCode();
+            }
+            return builder.addCode(code).build();
+        }
+
+        private CodeBlock generateCode()
         {
             String typeName = constant(baseName);
+            CodeBlock.Builder code = CodeBlock.builder();
             if (nullValue == null && templateType == null)
             {
-                builder.addStatement("final long bitmask = bitmask()");
+                code.addStatement("final long bitmask = bitmask()");
             }
             for (ListField field : fields)
             {
                 if (!field.isRequired() && field.defaultValue() == null)
                 {
-                    builder.addStatement("Object $L = null", field.fieldName());
+                    code.addStatement("Object $L = null", field.fieldName());
                 }
             }
-            builder.addStatement("StringBuilder format = new StringBuilder()")
+            code.addStatement("StringBuilder format = new StringBuilder()")
                 .addStatement("format.append(\"$L [bitmask={0}\")", typeName);
             int fieldIndex = 1;
             for (ListField field : fields)
@@ -1522,11 +1857,11 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
                 String name = field.fieldName();
                 if (field.isRequired() || field.defaultValue() != null)
                 {
-                    builder.addStatement("format.append(\", $L={$L}\")", name, fieldIndex);
+                    code.addStatement("format.append(\", $L={$L}\")", name, fieldIndex);
                 }
                 else
                 {
-                    builder.beginControlFlow("if (has$L())", String.format("%s%s", Character.toUpperCase(name.charAt(0)),
+                    code.beginControlFlow("if (has$L())", String.format("%s%s", Character.toUpperCase(name.charAt(0)),
                         name.substring(1)))
                         .addStatement("format.append(\", $L={$L}\")", name, fieldIndex)
                         .addStatement("$L = $L()", name, name)
@@ -1534,25 +1869,67 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
                 }
                 fieldIndex++;
             }
-            builder.addStatement("format.append(\"]\")");
+            code.addStatement("format.append(\"]\")");
 
-            CodeBlock.Builder returnStatement = CodeBlock.builder()
-                .add("$[").add("return $T.format(format.toString(), String.format(\"0x%16X\", bitmask)",
+            code.add("$[").add("return $T.format(format.toString(), String.format(\"0x%16X\", bitmask)",
                     MessageFormat.class);
             for (ListField field : fields)
             {
                 String name = field.fieldName();
                 if (field.isRequired() || field.defaultValue() != null)
                 {
-                    returnStatement.add(", $L()", name);
+                    code.add(", $L()", name);
                 }
                 else
                 {
-                    returnStatement.add(", $L", name);
+                    code.add(", $L", name);
                 }
             }
-            returnStatement.add(");\n$]");
-            return builder.addCode(returnStatement.build())
+            return code.add(");\n$]").build();
+        }
+
+        private CodeBlock generateSplitCode()
+        {
+            String typeName = constant(baseName);
+            CodeBlock.Builder code = CodeBlock.builder();
+            if (nullValue == null && templateType == null)
+            {
+                code.addStatement("final long bitmask = bitmask()");
+            }
+            code.addStatement("final Object[] values = new Object[$L]", fields.size() + 1)
+                .addStatement("values[0] = String.format(\"0x%16X\", bitmask)")
+                .addStatement("StringBuilder format = new StringBuilder()")
+                .addStatement("format.append(\"$L [bitmask={0}\")", typeName);
+            int fieldIndex = 1;
+            for (ListField field : fields)
+            {
+                String name = field.fieldName();
+                String helperName = helperName("toString", name);
+                CodeBlock.Builder helper = CodeBlock.builder();
+                if (field.isRequired() || field.defaultValue() != null)
+                {
+                    helper.addStatement("format.append(\", $L={$L}\")", name, fieldIndex)
+                        .addStatement("values[$L] = $L()", fieldIndex, name);
+                }
+                else
+                {
+                    helper.beginControlFlow("if (has$L())", String.format("%s%s", Character.toUpperCase(name.charAt(0)),
+                        name.substring(1)))
+                        .addStatement("format.append(\", $L={$L}\")", name, fieldIndex)
+                        .addStatement("values[$L] = $L()", fieldIndex, name)
+                        .endControlFlow();
+                }
+                helpers.add(methodBuilder(helperName)
+                    .addModifiers(PRIVATE)
+                    .addParameter(StringBuilder.class, "format")
+                    .addParameter(Object[].class, "values")
+                    .addCode(helper.build())
+                    .build());
+                code.addStatement("$L(format, values)", helperName);
+                fieldIndex++;
+            }
+            return code.addStatement("format.append(\"]\")")
+                .addStatement("return $T.format(format.toString(), values)", MessageFormat.class)
                 .build();
         }
     }
@@ -3344,6 +3721,13 @@ public final class ListFlyweightGenerator extends ClassSpecGenerator
         return String.format("INDEX_%s", constant(fieldName));
     }
 
+    private static String helperName(
+        String prefix,
+        String name)
+    {
+        return String.format("%s%s%s", prefix, Character.toUpperCase(name.charAt(0)), name.substring(1));
+    }
+
     private static String defaultMethodName(
         String name)
     {
@@ -0,0 +1,582 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal.generate;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+
+public final class MethodBudget
+{
+    // sizes are estimated from generated source tokens, not measured from compiled bytecode,
+    // a budget a little under HotSpot FreqInlineSize (325) keeps estimated hot methods inlineable
+    public static final MethodBudget DISABLED = new MethodBudget(0);
+
+    private static final Pattern PACKAGE_PREFIX = Pattern.compile("\\b(?:[a-z_][a-z0-9_]*\\.)+(?=[A-Z])");
+    private static final Pattern TOKEN = Pattern.compile(
+        "\"(?:[^\"\\\\]|\\\\.)*\"|'(?:[^'\\\\]|\\\\.)*'|[A-Za-z_$][A-Za-z0-9_$]*|[0-9][0-9A-Fa-fxXL_]*|" +
+        "->|::|>>>=?|<<=?|>>=?|[=!<>]=|&&|\\|\\||\\+\\+|--|[-+*/%&|^]=|\\S");
+
+    private final int limit;
+
+    public MethodBudget(
+        int limit)
+    {
+        this.limit = limit;
+    }
+
+    public int limit()
+    {
+        return limit;
+    }
+
+    public boolean isEnabled()
+    {
+        return limit > 0;
+    }
+
+    public boolean exceeds(
+        MethodSpec method)
+    {
+        return isEnabled() && estimate(method) > limit;
+    }
+
+    public boolean exceeds(
+        MethodSpec.Builder method,
+        CodeBlock code)
+    {
+        return exceeds(method.build().toBuilder().addCode(code).build());
+    }
+
+    public static boolean references(
+        CodeBlock code,
+        String name)
+    {
+        return tokens(code.toString()).contains(name);
+    }
+
+    public List<Overrun> audit(
+        String typeName,
+        TypeSpec type)
+    {
+        List<Overrun> overruns = new ArrayList<>();
+        if (isEnabled())
+        {
+            audit(typeName, type, overruns);
+        }
+        return unmodifiableList(overruns);
+    }
+
+    public static int estimate(
+        MethodSpec method)
+    {
+        List<String> parameters = new ArrayList<>();
+        method.parameters.forEach(p -> parameters.add(p.name));
+        return estimate(method.code.toString(), parameters);
+    }
+
+    static int estimate(
+        String source,
+        Collection<String> parameters)
+    {
+        List<String> tokens = tokens(PACKAGE_PREFIX.matcher(source).replaceAll(""));
+        Map<String, Integer> locals = new HashMap<>();
+        parameters.forEach(p -> locals.put(p, locals.size() + 1));
+        int slots = locals.size() + 1;
+        Set<String> objectLocals = new HashSet<>();
+        Set<String> longLocals = new HashSet<>();
+        boolean wide = false;
+        int size = 0;
+        for (int i = 0; i < tokens.size(); i++)
+        {
+            String token = tokens.get(i);
+            String prior = i > 0 ? tokens.get(i - 1) : "";
+            String next = i + 1 < tokens.size() ? tokens.get(i + 1) : "";
+            switch (token)
+            {
+            case "->":
+                size += 5;
+                i = skip(tokens, i + 1, false) - 1;
+                break;
+            case "::":
+                size += 5;
+                i++;
+                break;
+            case "case":
+            case "default":
+                size += 4;
+                i = skip(tokens, i + 1, true);
+                break;
+            case "switch":
+                size += 16;
+                break;
+            case "if":
+            case "while":
+                size += "(".equals(next) ? 3 * implicitBranches(tokens, i + 2) : 0;
+                break;
+            default:
+                if ("format".equals(token) && "(".equals(next))
+                {
+                    size += 3 + 7 * (arguments(tokens, i + 2) - 1);
+                    continue;
+                }
+                if (wide && (isBranch(token) && !"!".equals(token) && !"instanceof".equals(token) ||
+                    token.equals(token.toUpperCase()) && Character.isJavaIdentifierStart(token.charAt(0))))
+                {
+                    // comparing or loading long operands
+                    size += 1;
+                }
+                wide = longLocals.contains(token) || wide && !isBoundary(token);
+                if (isDeclaration(token, prior))
+                {
+                    locals.put(token, slots);
+                    slots += "long".equals(prior) || "double".equals(prior) ? 2 : 1;
+                    if ("Object".equals(prior))
+                    {
+                        objectLocals.add(token);
+                    }
+                    else if ("long".equals(prior))
+                    {
+                        longLocals.add(token);
+                    }
+                }
+                else if (objectLocals.contains(token) && "=".equals(next) && isCall(tokens, i + 2))
+                {
+                    // boxing the call result
+                    size += 3;
+                }
+                else if (isDiscardedCall(tokens, i))
+                {
+                    // popping the call result
+                    size += 1;
+                }
+                size += cost(token, prior, next, locals);
+                break;
+            }
+        }
+        return size;
+    }
+
+    private static int cost(
+        String token,
+        String prior,
+        String next,
+        Map<String, Integer> locals)
+    {
+        char first = token.charAt(0);
+        int cost;
+        if (first == '"' || first == '\'')
+        {
+            cost = 2;
+        }
+        else if (Character.isDigit(first))
+        {
+            cost = token.length() == 1 || token.length() == 2 && token.charAt(1) == 'L' ? 1 : 2;
+        }
+        else if (Character.isJavaIdentifierStart(first))
+        {
+            cost = identifierCost(token, prior, next, locals);
+        }
+        else
+        {
+            cost = operatorCost(token);
+        }
+        return cost;
+    }
+
+    private static int identifierCost(
+        String token,
+        String prior,
+        String next,
+        Map<String, Integer> locals)
+    {
+        int cost;
+        if ("(".equals(next))
+        {
+            cost = ".".equals(prior) || "new".equals(prior) ? 3 : 4;
+        }
+        else if (Character.isUpperCase(token.charAt(0)))
+        {
+            cost = token.equals(token.toUpperCase()) ? 2 : 0;
+        }
+        else if (".".equals(prior))
+        {
+            cost = 3;
+        }
+        else if (locals.containsKey(token))
+        {
+            // load and store beyond the fourth slot take an index operand
+            cost = locals.get(token) > 3 ? 2 : 1;
+        }
+        else if (next.length() == 2 && next.charAt(1) == '=' && "+-*/%&|^".indexOf(next.charAt(0)) >= 0)
+        {
+            // read and write back the field
+            cost = 8;
+        }
+        else
+        {
+            switch (token)
+            {
+            case "final":
+            case "if":
+            case "do":
+            case "try":
+            case "boolean":
+            case "byte":
+            case "char":
+            case "short":
+            case "int":
+            case "long":
+            case "float":
+            case "double":
+                cost = 0;
+                break;
+            case "return":
+            case "throw":
+            case "null":
+            case "this":
+            case "super":
+            case "true":
+            case "false":
+                cost = 1;
+                break;
+            case "break":
+            case "continue":
+            case "else":
+            case "for":
+            case "while":
+            case "instanceof":
+                cost = 3;
+                break;
+            case "new":
+                cost = 4;
+                break;
+            default:
+                cost = 4;
+                break;
+            }
+        }
+        return cost;
+    }
+
+    private static int operatorCost(
+        String token)
+    {
+        int cost;
+        switch (token)
+        {
+        case "?":
+        case ":":
+        case "!":
+        case "&&":
+        case "||":
+        case "==":
+        case "!=":
+        case "<=":
+        case ">=":
+        case "<":
+        case ">":
+        case "++":
+        case "--":
+            cost = 3;
+            break;
+        case "(":
+        case ")":
+        case "{":
+        case "}":
+        case "]":
+        case ",":
+        case ";":
+        case ".":
+        case "=":
+            cost = 0;
+            break;
+        default:
+            cost = 1;
+            break;
+        }
+        return cost;
+    }
+
+    private static boolean isDeclaration(
+        String token,
+        String prior)
+    {
+        boolean declaration = false;
+        if (Character.isJavaIdentifierStart(token.charAt(0)) && Character.isLowerCase(token.charAt(0)))
+        {
+            switch (prior)
+            {
+            case "boolean":
+            case "byte":
+            case "char":
+            case "short":
+            case "int":
+            case "long":
+            case "float":
+            case "double":
+            case ">":
+            case "]":
+                declaration = true;
+                break;
+            default:
+                declaration = !prior.isEmpty() && Character.isUpperCase(prior.charAt(0));
+                break;
+            }
+        }
+        return declaration;
+    }
+
+    private static int skip(
+        List<String> tokens,
+        int start,
+        boolean label)
+    {
+        int depth = 0;
+        int index = start;
+        for (; index < tokens.size(); index++)
+        {
+            String token = tokens.get(index);
+            if ("(".equals(token) || "{".equals(token) || "[".equals(token))
+            {
+                depth++;
+            }
+            else if (")".equals(token) || "}".equals(token) || "]".equals(token))
+            {
+                if (depth == 0)
+                {
+                    break;
+                }
+                depth--;
+            }
+            else if (depth == 0 && (label ? ":".equals(token) : ",".equals(token) || ";".equals(token)))
+            {
+                break;
+            }
+        }
+        return index;
+    }
+
+    private static int implicitBranches(
+        List<String> tokens,
+        int start)
+    {
+        int depth = 0;
+        int branches = 0;
+        boolean compared = false;
+        for (int index = start; index < tokens.size(); index++)
+        {
+            String token = tokens.get(index);
+            if ("(".equals(token) || "[".equals(token))
+            {
+                depth++;
+            }
+            else if (")".equals(token) || "]".equals(token))
+            {
+                if (depth == 0)
+                {
+                    break;
+                }
+                depth--;
+            }
+            else if (depth == 0 && ("&&".equals(token) || "||".equals(token)))
+            {
+                branches += compared ? 0 : 1;
+                compared = false;
+                continue;
+            }
+            compared |= isBranch(token);
+        }
+        return branches + (compared ? 0 : 1);
+    }
+
+    private static boolean isBranch(
+        String token)
+    {
+        switch (token)
+        {
+        case "!":
+        case "==":
+        case "!=":
+        case "<":
+        case ">":
+        case "<=":
+        case ">=":
+        case "instanceof":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static boolean isBoundary(
+        String token)
+    {
+        return ";".equals(token) || "{".equals(token) || "}".equals(token) || "&&".equals(token) || "||".equals(token);
+    }
+
+    private static boolean isCall(
+        List<String> tokens,
+        int start)
+    {
+        return start + 1 < tokens.size() && Character.isJavaIdentifierStart(tokens.get(start).charAt(0)) &&
+            "(".equals(tokens.get(start + 1));
+    }
+
+    private static boolean isDiscardedCall(
+        List<String> tokens,
+        int start)
+    {
+        String prior = start > 0 ? tokens.get(start - 1) : ";";
+        String token = tokens.get(start);
+        boolean discarded = (";".equals(prior) || "{".equals(prior) || "}".equals(prior)) &&
+            start + 1 < tokens.size() && ".".equals(tokens.get(start + 1)) &&
+            Character.isJavaIdentifierStart(token.charAt(0)) && !"super".equals(token) && !"this".equals(token);
+        int depth = 0;
+        for (int index = start + 1; discarded && index < tokens.size(); index++)
+        {
+            String next = tokens.get(index);
+            if ("(".equals(next) || "[".equals(next))
+            {
+                depth++;
+            }
+            else if (")".equals(next) || "]".equals(next))
+            {
+                depth--;
+            }
+            else if (depth == 0 && ";".equals(next))
+            {
+                discarded = ")".equals(tokens.get(index - 1));
+                break;
+            }
+            else if (depth == 0 && next.endsWith("=") && !isBranch(next))
+            {
+                discarded = false;
+            }
+        }
+        return discarded;
+    }
+
+    private static int arguments(
+        List<String> tokens,
+        int start)
+    {
+        int depth = 0;
+        int arguments = 1;
+        for (int index = start; index < tokens.size(); index++)
+        {
+            String token = tokens.get(index);
+            if ("(".equals(token) || "{".equals(token) || "[".equals(token))
+            {
+                depth++;
+            }
+            else if (")".equals(token) || "}".equals(token) || "]".equals(token))
+            {
+                if (depth == 0)
+                {
+                    break;
+                }
+                depth--;
+            }
+            else if (depth == 0 && ",".equals(token))
+            {
+                arguments++;
+            }
+        }
+        return arguments;
+    }
+
+    private static List<String> tokens(
+        String source)
+    {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(source);
+        while (matcher.find())
+        {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    private void audit(
+        String typeName,
+        TypeSpec type,
+        List<Overrun> overruns)
+    {
+        for (MethodSpec method : type.methodSpecs)
+        {
+            int size = estimate(method);
+            if (size > limit)
+            {
+                overruns.add(new Overrun(typeName, method.name, size));
+            }
+        }
+        for (TypeSpec nested : type.typeSpecs)
+        {
+            audit(String.format("%s.%s", typeName, nested.name), nested, overruns);
+        }
+    }
+
+    public static final class Overrun
+    {
+        private final String typeName;
+        private final String methodName;
+        private final int size;
+
+        private Overrun(
+            String typeName,
+            String methodName,
+            int size)
+        {
+            this.typeName = typeName;
+            this.methodName = methodName;
+            this.size = size;
+        }
+
+        public String typeName()
+        {
+            return typeName;
+        }
+
+        public String methodName()
+        {
+            return methodName;
+        }
+
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%s.%s ~%d bytes", typeName, methodName, size);
+        }
+    }
+}
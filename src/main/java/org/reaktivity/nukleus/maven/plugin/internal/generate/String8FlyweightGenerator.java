@@ -259,6 +259,7 @@ public final class String8FlyweightGenerator extends ClassSpecGenerator
                 .addMethod(setMethod())
                 .addMethod(setDirectBufferMethod())
                 .addMethod(setStringMethod())
+                .addMethod(setCharSequenceMethod())
                 .addMethod(checkLengthMethod())
                 .addMethod(buildMethod())
                 .build();
@@ -348,12 +349,9 @@ public final class String8FlyweightGenerator extends ClassSpecGenerator
                 .returns(classType)
                 .addParameter(String.class, "value")
                 .addParameter(Charset.class, "charset")
-                .beginControlFlow("if (value == null)")
-                .addStatement("int newLimit = offset() + FIELD_SIZE_LENGTH")
-                .addStatement("checkLimit(newLimit, maxLimit())")
-                .addStatement("buffer().putByte(offset(), (byte) -1)")
-                .addStatement("limit(newLimit)")
-                .nextControlFlow("else")
+                .beginControlFlow("if (value == null || $T.UTF_8.equals(charset))", StandardCharsets.class)
+                .addStatement("return set((CharSequence) value)")
+                .endControlFlow()
                 .addStatement("byte[] charBytes = value.getBytes(charset)")
                 .addStatement("checkLength(charBytes.length)")
                 .addStatement("int newLimit = offset() + FIELD_SIZE_LENGTH + charBytes.length")
@@ -361,6 +359,35 @@ public final class String8FlyweightGenerator extends ClassSpecGenerator
                 .addStatement("buffer().putByte(offset(), (byte) charBytes.length)")
                 .addStatement("buffer().putBytes(offset() + 1, charBytes)")
                 .addStatement("limit(newLimit)")
+                .addStatement("valueSet = true")
+                .addStatement("return this")
+                .build();
+        }
+
+        private MethodSpec setCharSequenceMethod()
+        {
+            return methodBuilder("set")
+                .addAnnotation(Override.class)
+                .addModifiers(PUBLIC)
+                .returns(classType)
+                .addParameter(CharSequence.class, "value")
+                .beginControlFlow("if (value == null)")
+                .addStatement("int newLimit = offset() + FIELD_SIZE_LENGTH")
+                .addStatement("checkLimit(newLimit, maxLimit())")
+                .addStatement("buffer().putByte(offset(), (byte) -1)")
+                .addStatement("limit(newLimit)")
+                .nextControlFlow("else")
+                .addStatement("final int valueOffset = offset() + FIELD_SIZE_LENGTH")
+                .addStatement("final int newLimit = encodeUtf8(value, valueOffset, maxLimit())")
+                .beginControlFlow("if (newLimit == -1)")
+                .addStatement("final int encodedLength = utf8Length(value)")
+                .addStatement("checkLength(encodedLength)")
+                .addStatement("checkLimit(valueOffset + encodedLength, maxLimit())")
+                .endControlFlow()
+                .addStatement("final int length = newLimit - valueOffset")
+                .addStatement("checkLength(length)")
+                .addStatement("buffer().putByte(offset(), (byte) length)")
+                .addStatement("limit(newLimit)")
                 .endControlFlow()
                 .addStatement("valueSet = true")
                 .addStatement("return this")
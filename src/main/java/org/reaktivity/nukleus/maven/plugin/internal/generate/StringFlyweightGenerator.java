@@ -19,9 +19,13 @@ import static com.squareup.javapoet.MethodSpec.constructorBuilder;
 import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.classBuilder;
 import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PROTECTED;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
 import static org.reaktivity.nukleus.maven.plugin.internal.generate.TypeNames.DIRECT_BUFFER_TYPE;
+import static org.reaktivity.nukleus.maven.plugin.internal.generate.TypeNames.MUTABLE_DIRECT_BUFFER_TYPE;
 
 import java.nio.charset.Charset;
 
@@ -110,6 +114,11 @@ public final class StringFlyweightGenerator extends ClassSpecGenerator
                 .addMethod(setMethod())
                 .addMethod(setDirectBufferMethod())
                 .addMethod(setStringMethod())
+                .addMethod(setCharSequenceMethod())
+                .addMethod(encodeUtf8Method())
+                .addMethod(encodeUtf8MultibyteMethod())
+                .addMethod(encodeUtf8CodePointMethod())
+                .addMethod(utf8LengthMethod())
                 .build();
         }
 
@@ -151,5 +160,132 @@ public final class StringFlyweightGenerator extends ClassSpecGenerator
                 .addParameter(Charset.class, "charset")
                 .build();
         }
+
+        private MethodSpec setCharSequenceMethod()
+        {
+            return methodBuilder("set")
+                .addModifiers(PUBLIC, ABSTRACT)
+                .returns(classType)
+                .addParameter(CharSequence.class, "value")
+                .build();
+        }
+
+        private MethodSpec encodeUtf8Method()
+        {
+            return methodBuilder("encodeUtf8")
+                .addModifiers(PROTECTED, FINAL)
+                .returns(int.class)
+                .addParameter(CharSequence.class, "value")
+                .addParameter(int.class, "offset")
+                .addParameter(int.class, "maxLimit")
+                .addStatement("final $T buffer = buffer()", MUTABLE_DIRECT_BUFFER_TYPE)
+                .addStatement("final int length = value.length()")
+                .addStatement("final int asciiLength = Math.min(length, maxLimit - offset)")
+                .addStatement("int limit = offset")
+                .addStatement("int index = 0")
+                .beginControlFlow("for (; index < asciiLength; index++)")
+                .addStatement("final char ch = value.charAt(index)")
+                .beginControlFlow("if (ch >= 0x80)")
+                .addStatement("break")
+                .endControlFlow()
+                .addStatement("buffer.putByte(limit++, (byte) ch)")
+                .endControlFlow()
+                .addStatement("return index == length ? limit : encodeUtf8Multibyte(buffer, value, index, limit, maxLimit)")
+                .build();
+        }
+
+        private MethodSpec encodeUtf8MultibyteMethod()
+        {
+            return methodBuilder("encodeUtf8Multibyte")
+                .addModifiers(PRIVATE, STATIC)
+                .returns(int.class)
+                .addParameter(MUTABLE_DIRECT_BUFFER_TYPE, "buffer")
+                .addParameter(CharSequence.class, "value")
+                .addParameter(int.class, "index")
+                .addParameter(int.class, "limit")
+                .addParameter(int.class, "maxLimit")
+                .addStatement("final int length = value.length()")
+                .beginControlFlow("for (; index < length && limit != -1; index++)")
+                .addStatement("final char ch = value.charAt(index)")
+                .addStatement("int codePoint = ch")
+                .beginControlFlow("if (Character.isHighSurrogate(ch) && index + 1 < length && " +
+                    "Character.isLowSurrogate(value.charAt(index + 1)))")
+                .addStatement("codePoint = Character.toCodePoint(ch, value.charAt(++index))")
+                .nextControlFlow("else if (Character.isSurrogate(ch))")
+                .addStatement("codePoint = '?'")
+                .endControlFlow()
+                .addStatement("limit = encodeUtf8CodePoint(buffer, codePoint, limit, maxLimit)")
+                .endControlFlow()
+                .addStatement("return limit")
+                .build();
+        }
+
+        private MethodSpec encodeUtf8CodePointMethod()
+        {
+            return methodBuilder("encodeUtf8CodePoint")
+                .addModifiers(PRIVATE, STATIC)
+                .returns(int.class)
+                .addParameter(MUTABLE_DIRECT_BUFFER_TYPE, "buffer")
+                .addParameter(int.class, "codePoint")
+                .addParameter(int.class, "limit")
+                .addParameter(int.class, "maxLimit")
+                .beginControlFlow("if (codePoint < 0x80)")
+                .beginControlFlow("if (limit + 1 > maxLimit)")
+                .addStatement("return -1")
+                .endControlFlow()
+                .addStatement("buffer.putByte(limit++, (byte) codePoint)")
+                .nextControlFlow("else if (codePoint < 0x800)")
+                .beginControlFlow("if (limit + 2 > maxLimit)")
+                .addStatement("return -1")
+                .endControlFlow()
+                .addStatement("buffer.putByte(limit++, (byte) (0xc0 | codePoint >>> 6))")
+                .addStatement("buffer.putByte(limit++, (byte) (0x80 | codePoint & 0x3f))")
+                .nextControlFlow("else if (codePoint < 0x10000)")
+                .beginControlFlow("if (limit + 3 > maxLimit)")
+                .addStatement("return -1")
+                .endControlFlow()
+                .addStatement("buffer.putByte(limit++, (byte) (0xe0 | codePoint >>> 12))")
+                .addStatement("buffer.putByte(limit++, (byte) (0x80 | codePoint >>> 6 & 0x3f))")
+                .addStatement("buffer.putByte(limit++, (byte) (0x80 | codePoint & 0x3f))")
+                .nextControlFlow("else")
+                .beginControlFlow("if (limit + 4 > maxLimit)")
+                .addStatement("return -1")
+                .endControlFlow()
+                .addStatement("buffer.putByte(limit++, (byte) (0xf0 | codePoint >>> 18))")
+                .addStatement("buffer.putByte(limit++, (byte) (0x80 | codePoint >>> 12 & 0x3f))")
+                .addStatement("buffer.putByte(limit++, (byte) (0x80 | codePoint >>> 6 & 0x3f))")
+                .addStatement("buffer.putByte(limit++, (byte) (0x80 | codePoint & 0x3f))")
+                .endControlFlow()
+                .addStatement("return limit")
+                .build();
+        }
+
+        private MethodSpec utf8LengthMethod()
+        {
+            return methodBuilder("utf8Length")
+                .addModifiers(PROTECTED, STATIC, FINAL)
+                .returns(int.class)
+                .addParameter(CharSequence.class, "value")
+                .addStatement("final int length = value.length()")
+                .addStatement("int encodedLength = 0")
+                .beginControlFlow("for (int index = 0; index < length; index++)")
+                .addStatement("final char ch = value.charAt(index)")
+                .beginControlFlow("if (ch < 0x80)")
+                .addStatement("encodedLength++")
+                .nextControlFlow("else if (ch < 0x800)")
+                .addStatement("encodedLength += 2")
+                .nextControlFlow("else if (Character.isHighSurrogate(ch) && index + 1 < length && " +
+                    "Character.isLowSurrogate(value.charAt(index + 1)))")
+                .addStatement("encodedLength += 4")
+                .addStatement("index++")
+                .nextControlFlow("else if (Character.isSurrogate(ch))")
+                .addStatement("encodedLength++")
+                .nextControlFlow("else")
+                .addStatement("encodedLength += 3")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return encodedLength")
+                .build();
+        }
     }
 }
@@ -20,6 +20,7 @@ import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.classBuilder;
 import static java.lang.String.format;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.stream.Collectors.joining;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
@@ -34,9 +35,11 @@ import static org.reaktivity.nukleus.maven.plugin.internal.generate.TypeNames.UN
 
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +64,7 @@ import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.FieldSpec.Builder;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
@@ -106,6 +110,9 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
     private final LimitMethodGenerator limitMethod;
     private final ToStringMethodGenerator toStringMethod;
     private final BuilderClassGenerator builderClass;
+    private final Map<String, MethodSpec> helpers;
+
+    private boolean lazyWrap;
 
     public StructFlyweightGenerator(
         ClassName structName,
@@ -119,7 +126,7 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
         this.builder = classBuilder(structName).superclass(flyweightName).addModifiers(PUBLIC, FINAL);
         this.typeId = new TypeIdGenerator(structName, builder);
         this.memberSizeConstant = new MemberSizeConstantGenerator(structName, builder);
-        this.memberOffsetConstant = new MemberOffsetConstantGenerator(structName, builder);
+        this.memberOffsetConstant = new MemberOffsetConstantGenerator(structName, builder, resolver);
         this.memberField = new MemberFieldGenerator(structName, builder);
         this.memberAccessor = new MemberAccessorGenerator(structName, builder);
         this.tryWrapMethod = new TryWrapMethodGenerator(structName);
@@ -127,6 +134,7 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
         this.limitMethod = new LimitMethodGenerator();
         this.toStringMethod = new ToStringMethodGenerator();
         this.builderClass = new BuilderClassGenerator(structName, flyweightName, resolver);
+        this.helpers = new LinkedHashMap<>();
     }
 
     public StructFlyweightGenerator typeId(
@@ -136,6 +144,14 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
         return this;
     }
 
+    public StructFlyweightGenerator lazyWrap(
+        boolean lazyWrap)
+    {
+        this.lazyWrap = lazyWrap;
+        this.memberAccessor.lazyWrap(lazyWrap);
+        return this;
+    }
+
     public StructFlyweightGenerator addMember(
         String name,
         AstType type,
@@ -149,9 +165,9 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
         Object defaultValue,
         AstByteOrder byteOrder)
     {
-        memberOffsetConstant.addMember(name, typeName, unsignedTypeName, size, sizeName);
+        memberOffsetConstant.addMember(name, type, typeName, unsignedTypeName, size, sizeName);
         memberSizeConstant.addMember(name, type, typeName, unsignedType, unsignedTypeName, size);
-        memberField.addMember(name, typeName, unsignedTypeName, size, sizeName, byteOrder, defaultValue);
+        memberField.addMember(name, type, typeName, unsignedTypeName, size, sizeName, byteOrder, defaultValue);
         memberAccessor.addMember(name, type, typeName, unsignedType, unsignedTypeName, byteOrder, size, sizeName, defaultValue);
         limitMethod.addMember(name, typeName, unsignedTypeName, size, sizeName);
         tryWrapMethod.addMember(name, type, typeName, unsignedType, unsignedTypeName, size, sizeName, defaultValue);
@@ -163,6 +179,12 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
         return this;
     }
 
+    @Override
+    public WireLayout layout()
+    {
+        return memberOffsetConstant.layout();
+    }
+
     @Override
     public TypeSpec generate()
     {
@@ -172,8 +194,15 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
         memberField.build();
         memberAccessor.build();
 
+        if (lazyWrap && wrapMethod.hasMembers())
+        {
+            builder.addField(int.class, "wrappedMembers", PRIVATE)
+                   .addMethod(wrapMethod.generateWrapMembers());
+        }
+
         return builder.addMethod(wrapMethod.generate())
                       .addMethod(tryWrapMethod.generate())
+                      .addMethods(helpers.values())
                       .addMethod(limitMethod.generate())
                       .addMethod(toStringMethod.generate())
                       .addType(builderClass.generate())
@@ -253,23 +282,36 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
 
     private static final class MemberOffsetConstantGenerator extends ClassSpecMixinGenerator
     {
+        private final TypeResolver resolver;
+        private final WireLayout layout;
+
         private String previousName;
         private int previousSize = -1;
+        private String anchorName;
+        private int anchorOffset;
 
         private MemberOffsetConstantGenerator(
             ClassName thisType,
-            TypeSpec.Builder builder)
+            TypeSpec.Builder builder,
+            TypeResolver resolver)
         {
             super(thisType, builder);
+            this.resolver = resolver;
+            this.layout = new WireLayout(thisType.toString());
         }
 
         public MemberOffsetConstantGenerator addMember(
             String name,
+            AstType astType,
             TypeName type,
             TypeName unsignedType,
             int size,
             String sizeName)
         {
+            int minSize = WireLayout.minSize(resolver, astType, size, sizeName);
+            int maxSize = WireLayout.maxSize(resolver, astType, size, sizeName);
+            layout.addField(name, type.toString(), anchorName, anchorOffset, minSize, maxSize, true);
+
             String initializer;
             if (previousName == null)
             {
@@ -292,9 +334,16 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             boolean isFixedSize = type.isPrimitive() && sizeName == null;
             previousName = isFixedSize ? name : null;
             previousSize = size;
+            anchorName = isFixedSize ? anchorName : name;
+            anchorOffset = isFixedSize ? anchorOffset + minSize : 0;
 
             return this;
         }
+
+        public WireLayout layout()
+        {
+            return layout;
+        }
     }
 
     private static final class MemberFieldGenerator extends ClassSpecMixinGenerator
@@ -311,37 +360,46 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
 
         public MemberFieldGenerator addMember(
             String name,
-            TypeName type,
-            TypeName unsignedType,
+            AstType type,
+            TypeName typeName,
+            TypeName unsignedTypeName,
             int size,
             String sizeName,
             AstByteOrder byteOrder,
             Object defaultValue)
         {
-            if (!type.isPrimitive())
+            if (!typeName.isPrimitive())
             {
-                addNonPrimitiveMember(name, type, unsignedType, byteOrder, defaultValue);
+                addNonPrimitiveMember(name, typeName, unsignedTypeName, byteOrder, defaultValue);
             }
             else if (size != -1 || sizeName != null)
             {
-                addIntegerArrayMember(name, type, unsignedType, sizeName != null);
+                addIntegerArrayMember(name, type, typeName, unsignedTypeName, sizeName != null);
             }
             return this;
         }
 
         private void addIntegerArrayMember(
             String name,
-            TypeName type,
-            TypeName unsignedType,
+            AstType type,
+            TypeName typeName,
+            TypeName unsignedTypeName,
             boolean variableLength)
         {
             if (variableLength)
             {
                 builder.addField(TypeName.INT, dynamicLimit(name), PRIVATE);
             }
-            ClassName iteratorClass = iteratorClass(thisType, type, unsignedType);
-            builder.addField(iteratorClass, iterator(name), PRIVATE);
-            TypeName generateType = (unsignedType != null) ? unsignedType : type;
+            ClassName iteratorClass = iteratorClass(thisType, typeName, unsignedTypeName);
+            TypeName generateType = (unsignedTypeName != null) ? unsignedTypeName : typeName;
+            TypeName targetType = generateType == TypeName.LONG ? generateType : TypeName.INT;
+            CodeBlock.Builder accessor = CodeBlock.builder()
+                .add("new $T($S, $L, o -> ", iteratorClass, name, size(name));
+            addBufferGet(accessor, targetType, type, typeName, unsignedTypeName, "o");
+            accessor.add(")");
+            builder.addField(FieldSpec.builder(iteratorClass, iterator(name), PRIVATE, FINAL)
+                    .initializer(accessor.build())
+                    .build());
             if (generateType == TypeName.LONG)
             {
                 generateLongPrimitiveIterator = true;
@@ -411,25 +469,29 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
                     .addModifiers(PRIVATE, FINAL)
                     .addSuperinterface(INT_ITERATOR_CLASS_NAME);
             builder.addField(String.class, "fieldName", PRIVATE, FINAL);
-            builder.addField(int.class, "offset", PRIVATE, FINAL);
             builder.addField(int.class, "fieldSize", PRIVATE, FINAL);
-            builder.addField(int.class, "count", PRIVATE, FINAL);
             builder.addField(IntUnaryOperator.class, "accessor", PRIVATE, FINAL);
+            builder.addField(int.class, "offset", PRIVATE);
+            builder.addField(int.class, "count", PRIVATE);
             builder.addField(int.class, "index", PRIVATE);
 
             builder.addMethod(constructorBuilder()
                     .addParameter(String.class, "fieldName")
-                    .addParameter(int.class, "offset")
                     .addParameter(int.class, "fieldSize")
-                    .addParameter(int.class, "count")
                     .addParameter(IntUnaryOperator.class, "accessor")
                     .addStatement("this.fieldName = fieldName")
-                    .addStatement("this.offset = offset")
                     .addStatement("this.fieldSize = fieldSize")
-                    .addStatement("this.count = count")
                     .addStatement("this.accessor = accessor")
                     .build());
 
+            builder.addMethod(MethodSpec.methodBuilder("wrap")
+                    .addParameter(int.class, "offset")
+                    .addParameter(int.class, "count")
+                    .addStatement("this.offset = offset")
+                    .addStatement("this.count = count")
+                    .addStatement("this.index = 0")
+                    .build());
+
             builder.addMethod(MethodSpec.methodBuilder("hasNext")
                     .addAnnotation(Override.class)
                     .addModifiers(PUBLIC)
@@ -474,25 +536,29 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
                     .addModifiers(PRIVATE, FINAL)
                     .addSuperinterface(LONG_ITERATOR_CLASS_NAME);
             builder.addField(String.class, "fieldName", PRIVATE, FINAL);
-            builder.addField(int.class, "offset", PRIVATE, FINAL);
             builder.addField(int.class, "fieldSize", PRIVATE, FINAL);
-            builder.addField(int.class, "count", PRIVATE, FINAL);
             builder.addField(IntToLongFunction.class, "accessor", PRIVATE, FINAL);
+            builder.addField(int.class, "offset", PRIVATE);
+            builder.addField(int.class, "count", PRIVATE);
             builder.addField(int.class, "index", PRIVATE);
 
             builder.addMethod(constructorBuilder()
                     .addParameter(String.class, "fieldName")
-                    .addParameter(int.class, "offset")
                     .addParameter(int.class, "fieldSize")
-                    .addParameter(int.class, "count")
                     .addParameter(IntToLongFunction.class, "accessor")
                     .addStatement("this.fieldName = fieldName")
-                    .addStatement("this.offset = offset")
                     .addStatement("this.fieldSize = fieldSize")
-                    .addStatement("this.count = count")
                     .addStatement("this.accessor = accessor")
                     .build());
 
+            builder.addMethod(MethodSpec.methodBuilder("wrap")
+                    .addParameter(int.class, "offset")
+                    .addParameter(int.class, "count")
+                    .addStatement("this.offset = offset")
+                    .addStatement("this.count = count")
+                    .addStatement("this.index = 0")
+                    .build());
+
             builder.addMethod(MethodSpec.methodBuilder("hasNext")
                     .addAnnotation(Override.class)
                     .addModifiers(PUBLIC)
@@ -534,6 +600,8 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
     private static final class MemberAccessorGenerator extends ClassSpecMixinGenerator
     {
         private String anchorLimit;
+        private boolean lazyWrap;
+        private int wrappedMembers;
 
         private MemberAccessorGenerator(
             ClassName thisType,
@@ -542,6 +610,22 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             super(thisType, builder);
         }
 
+        private void lazyWrap(
+            boolean lazyWrap)
+        {
+            this.lazyWrap = lazyWrap;
+        }
+
+        private void wrapMembers(
+            MethodSpec.Builder method,
+            int count)
+        {
+            if (lazyWrap && count != 0)
+            {
+                method.addStatement("wrapMembers($L)", count);
+            }
+        }
+
         public MemberAccessorGenerator addMember(
             String name,
             AstType type,
@@ -581,18 +665,21 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             TypeName generateType = (unsignedType != null) ? unsignedType : type;
             generateType = generateType == TypeName.LONG ? LONG_ITERATOR_CLASS_NAME
                     : INT_ITERATOR_CLASS_NAME;
-            builder.addMethod(methodBuilder(methodName(name))
+            MethodSpec.Builder accessor = methodBuilder(methodName(name))
                     .addModifiers(PUBLIC)
-                    .returns(generateType)
-                    .beginControlFlow("if ($L != null)", iterator(name))
-                    .addStatement("$L.index = 0", iterator(name))
-                    .endControlFlow()
-                    .addStatement("return $L",  iterator(name))
-                    .build());
+                    .returns(generateType);
+            wrapMembers(accessor, ++wrappedMembers);
+            accessor.addStatement("$L.index = 0", iterator(name));
             if (sizeName != null)
             {
+                accessor.addStatement("return $L.count == -1 ? null : $L", iterator(name), iterator(name));
                 anchorLimit = dynamicLimit(name);
             }
+            else
+            {
+                accessor.addStatement("return $L", iterator(name));
+            }
+            builder.addMethod(accessor.build());
         }
 
         private void addNonPrimitiveMember(
@@ -603,6 +690,7 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             Object defaultValue)
         {
             CodeBlock.Builder codeBlock = CodeBlock.builder();
+            wrappedMembers++;
 
             if (DIRECT_BUFFER_TYPE.equals(type))
             {
@@ -610,6 +698,7 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
                         .addModifiers(PUBLIC)
                         .addParameter(IntBinaryOperator.class, "accessor")
                         .returns(type);
+                wrapMembers(consumerMethod, wrappedMembers);
 
                 if (anchorLimit != null)
                 {
@@ -648,9 +737,11 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
 
             anchorLimit = name + "RO." + (DIRECT_BUFFER_TYPE.equals(type) ? "capacity()" : "limit()");
 
-            builder.addMethod(methodBuilder(methodName(name))
+            MethodSpec.Builder accessor = methodBuilder(methodName(name))
                     .addModifiers(PUBLIC)
-                    .returns(returnType)
+                    .returns(returnType);
+            wrapMembers(accessor, wrappedMembers);
+            builder.addMethod(accessor
                     .addCode(codeBlock.build())
                     .build());
         }
@@ -756,9 +847,14 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
                 codeBlock.add(";\n$]");
             }
 
-            builder.addMethod(methodBuilder(methodName(name))
+            MethodSpec.Builder accessor = methodBuilder(methodName(name))
                     .addModifiers(PUBLIC)
-                    .returns(generateType)
+                    .returns(generateType);
+            if (anchorLimit != null)
+            {
+                wrapMembers(accessor, wrappedMembers);
+            }
+            builder.addMethod(accessor
                     .addCode(codeBlock.build())
                     .build());
         }
@@ -812,8 +908,17 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             else
             {
                 CodeBlock.Builder code = CodeBlock.builder();
+                boolean lazy = lazyWrap && wrapMethod.hasMembers();
+                if (lazy && wrapMethod.limitMemberCount() != 0)
+                {
+                    code.addStatement("wrapMembers($L)", wrapMethod.limitMemberCount());
+                }
                 code.add("$[");
-                if (anchorName != null)
+                if (lazy && anchorName != null)
+                {
+                    code.add("return $L", wrapMethod.extentLimit());
+                }
+                else if (anchorName != null)
                 {
                     if (TypeNames.DIRECT_BUFFER_TYPE.equals(anchorType))
                     {
@@ -854,6 +959,7 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
     private final class TryWrapMethodGenerator extends MethodSpecGenerator
     {
         private final ClassName thisType;
+        private final MemberCode members = new MemberCode();
         private String anchorLimit;
         private boolean limitDeclared;
 
@@ -867,24 +973,26 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
                     .addParameter(int.class, "offset")
                     .addParameter(int.class, "maxLimit")
                     .returns(thisName));
-            addFailIfStatement("null == super.tryWrap(buffer, offset, maxLimit)");
+            members.add(failIf("null == super.tryWrap(buffer, offset, maxLimit)"));
             this.thisType = thisType;
         }
 
-        private void addFailIfStatement(
+        private CodeBlock failIf(
             String string,
             Object... args)
         {
-            builder.beginControlFlow("if (" + string + ")", args);
-            builder.addStatement("return null");
-            builder.endControlFlow();
+            return CodeBlock.builder()
+                .beginControlFlow("if (" + string + ")", args)
+                .addStatement("return null")
+                .endControlFlow()
+                .build();
         }
 
         private void declareLimit()
         {
             if (!limitDeclared)
             {
-                builder.addStatement("int limit");
+                members.addInline(CodeBlock.builder().addStatement("int limit").build());
                 limitDeclared = true;
             }
         }
@@ -903,8 +1011,8 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             {
                 // TODO: is this dead code? I can't find a case where type should be equal to DirectBuffer
                 // and we never get here during generation of the test idl during build
-                addFailIfStatement("null == $LRO.wrap(buffer, offset + $L, maxLimit - (offset + $L))",
-                        name, offset(name), offset(name));
+                members.add(failIf("null == $LRO.wrap(buffer, offset + $L, maxLimit - (offset + $L))",
+                        name, offset(name), offset(name)));
             }
             else if (!typeName.isPrimitive())
             {
@@ -929,9 +1037,6 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             TypeName unsignedTypeName,
             int size)
         {
-            ClassName iteratorClass = iteratorClass(thisType, typeName, unsignedTypeName);
-            TypeName targetTypeName = (unsignedTypeName != null) ? unsignedTypeName : typeName;
-            targetTypeName = targetTypeName == TypeName.LONG ? targetTypeName : TypeName.INT;
             CodeBlock.Builder code = CodeBlock.builder();
             String offsetName;
             if (anchorLimit != null)
@@ -943,14 +1048,8 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             {
                 offsetName = "offset + " + offset(name);
             }
-            code.add("$[")
-                .add("$L = new $T($S, $L, $L, $L, o -> ",
-                        iterator(name), iteratorClass, name, offsetName, size(name), arraySize(name));
-            addBufferGet(code, targetTypeName, type, typeName, unsignedTypeName, "o");
-            code.add(")")
-                .add(";\n$]");
-
-            builder.addCode(code.build());
+            code.addStatement("$L.wrap($L, $L)", iterator(name), offsetName, arraySize(name));
+            members.addHelper(helperName(name), code.build());
         }
 
         private void addVariableIntegerArrayMember(
@@ -961,11 +1060,8 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             TypeName unsignedTypeName,
             String sizeName)
         {
-            ClassName iteratorClass = iteratorClass(thisType, typeName, unsignedTypeName);
             String offsetName = "offset" + initCap(name);
             String limitName = "limit" + initCap(name);
-            TypeName targetType = (unsignedTypeName != null) ? unsignedTypeName : typeName;
-            targetType = targetType == TypeName.LONG ? targetType : TypeName.INT;
             CodeBlock.Builder code = CodeBlock.builder();
             if (anchorLimit != null)
             {
@@ -975,16 +1071,10 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             {
                 code.addStatement("final int $L = offset + $L", offsetName, offset(name));
             }
-            code.add("$[")
-                .add("$L = $L() == -1 ? null :\n", iterator(name), methodName(sizeName))
-                .add("new $T($S, $L, $L, (int) $L(), o -> ",
-                    iteratorClass, name, offsetName, size(name), methodName(sizeName));
-            addBufferGet(code, targetType, type, typeName, unsignedTypeName, "o");
-            code.add(")")
-                .add(";\n$]")
+            code.addStatement("$L.wrap($L, (int) $L())", iterator(name), offsetName, methodName(sizeName))
                 .addStatement("$L = $L() == -1 ? $L : $L + $L * $L()", limitName, methodName(sizeName),
                         offsetName, offsetName, size(name), methodName(sizeName));
-            builder.addCode(code.build());
+            members.addHelper(helperName(name), code.build());
             anchorLimit = limitName;
         }
 
@@ -996,157 +1086,52 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             String sizeName,
             Object defaultValue)
         {
-            boolean sized = size >= 0 || sizeName != null;
-            if (sized)
+            String memberOffset = String.format("%s + %s", anchorLimit != null ? anchorLimit : "offset", offset(name));
+            String memberSize = null;
+            if (size >= 0)
             {
-                declareLimit();
+                memberSize = Integer.toString(size);
             }
-            if (anchorLimit != null)
+            else if (sizeName != null)
             {
-                if (size >= 0)
-                {
-                    builder.addStatement("limit = $L + $L + $L", anchorLimit, offset(name), size);
-                }
-                else if (sizeName != null)
-                {
-                    if (defaultValue == NULL_DEFAULT)
-                    {
-                        builder.addStatement("limit = $L + $L + ((int) $L() == -1 ? 0 : (int) $L()) ",
-                                anchorLimit, offset(name), methodName(sizeName), methodName(sizeName));
-                    }
-                    else
-                    {
-                        builder.addStatement("limit = $L + $L + (int) $L()", anchorLimit,
-                                offset(name), methodName(sizeName));
-                    }
-                }
-                if (sized)
-                {
-                    addFailIfStatement("limit > maxLimit || null == $LRO.tryWrap(buffer, $L + $L, limit)",
-                                       name, anchorLimit, offset(name));
-                }
-                else
-                {
-                    addFailIfStatement("null == $LRO.tryWrap(buffer, $L + $L, maxLimit)",
-                            name, anchorLimit, offset(name));
-                }
+                memberSize = defaultValue == NULL_DEFAULT ?
+                    String.format("((int) %s() == -1 ? 0 : (int) %s())", methodName(sizeName), methodName(sizeName)) :
+                    String.format("(int) %s()", methodName(sizeName));
             }
-            else
+            if (memberSize != null)
             {
-                if (size >= 0)
-                {
-                    builder.addStatement("limit = offset + $L + $L",
-                            offset(name), size);
-                }
-                else if (sizeName != null)
-                {
-                    if (defaultValue == NULL_DEFAULT)
-                    {
-                        builder.addStatement("limit = offset + $L + ((int) $L() == -1 ? 0 : (int) $L())",
-                                offset(name), methodName(sizeName), methodName(sizeName));
-                    }
-                    else
-                    {
-                        builder.addStatement("limit = offset + $L + (int) $L()",
-                                offset(name), methodName(sizeName));
-                    }
-                }
-                if (sized)
-                {
-                    addFailIfStatement("limit > maxLimit || null == $LRO.tryWrap(buffer, offset + $L, limit)",
-                                       name, offset(name));
-                }
-                else
-                {
-                    addFailIfStatement("null == $LRO.tryWrap(buffer, offset + $L, maxLimit)",
-                            name, offset(name));
-                }
+                declareLimit();
             }
-            anchorLimit = name + "RO.limit()";
-        }
 
-        private void addBufferGet(
-            CodeBlock.Builder codeBlock,
-            TypeName targetTypeName,
-            AstType type,
-            TypeName typeName,
-            TypeName unsignedTypeName,
-            String offset)
-        {
-            if (type.bits() == 24)
+            CodeBlock.Builder code = CodeBlock.builder();
+            CodeBlock.Builder helper = CodeBlock.builder();
+            if (memberSize != null)
             {
-                if (type.isUnsignedInt())
-                {
-                    codeBlock.add("$T.NATIVE_BYTE_ORDER == $T.BIG_ENDIAN ? ", BUFFER_UTIL_TYPE, ByteOrder.class)
-                             .add("(buffer().getByte($L) & 0xff) << 16 |", offset)
-                             .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
-                             .add(" (buffer().getByte($L + 2) & 0xff)", offset)
-                             .add(" : ")
-                             .add("(buffer().getByte($L + 2) & 0xff) << 16 |", offset)
-                             .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
-                             .add(" (buffer().getByte($L) & 0xff)", offset);
-                }
-                else
-                {
-                    codeBlock.add("$T.NATIVE_BYTE_ORDER == $T.BIG_ENDIAN ? ", BUFFER_UTIL_TYPE, ByteOrder.class)
-                             .add("buffer().getByte($L) << 16 |", offset)
-                             .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
-                             .add(" (buffer().getByte($L + 2) & 0xff)", offset)
-                             .add(" : ")
-                             .add("buffer().getByte($L + 2) << 16 |", offset)
-                             .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
-                             .add(" (buffer().getByte($L) & 0xff)", offset);
-                }
+                code.addStatement("limit = $L + $L", memberOffset, memberSize)
+                    .add(failIf("limit > maxLimit || null == $LRO.tryWrap(buffer, $L, limit)", name, memberOffset));
+                helper.addStatement("final int limit = $L + $L", memberOffset, memberSize)
+                    .addStatement("return limit <= maxLimit && null != $LRO.tryWrap(buffer, $L, limit)", name, memberOffset);
             }
             else
             {
-                String getterName = GETTER_NAMES.get(typeName);
-                if (getterName == null)
-                {
-                    throw new IllegalStateException("member type not supported: " + typeName);
-                }
-                if (targetTypeName != typeName)
-                {
-                    codeBlock.add("($T)(", targetTypeName);
-                }
-
-                codeBlock.add("buffer().$L($L", getterName, offset);
-
-                if (targetTypeName != typeName  && unsignedTypeName != null)
-                {
-                    if (typeName == TypeName.BYTE)
-                    {
-                        codeBlock.add(") & 0xFF)");
-                    }
-                    else if (typeName == TypeName.SHORT)
-                    {
-                        codeBlock.add(") & 0xFFFF)", ByteOrder.class);
-                    }
-                    else if (typeName == TypeName.INT)
-                    {
-                        codeBlock.add(") & 0xFFFF_FFFFL)", ByteOrder.class);
-                    }
-                    else
-                    {
-                        codeBlock.add(")");
-                    }
-                }
-                else
-                {
-                    codeBlock.add(")");
-                }
-                if (targetTypeName != typeName && unsignedTypeName == null)
-                {
-                    codeBlock.add(")");
-                }
+                code.add(failIf("null == $LRO.tryWrap(buffer, $L, maxLimit)", name, memberOffset));
+                helper.addStatement("return null != $LRO.tryWrap(buffer, $L, maxLimit)", name, memberOffset);
             }
+            MethodSpec method = MemberCode.helper("tryWrap" + initCap(name), TypeName.BOOLEAN, helper.build());
+            members.addHelper(code.build(), failIf("!$L($L)", method.name, MemberCode.arguments(method)), method);
+            anchorLimit = name + "RO.limit()";
         }
 
         @Override
         public MethodSpec generate()
         {
-            addFailIfStatement("limit() > maxLimit");
-            return builder.addStatement("return this")
+            if (lazyWrap && wrapMethod.hasMembers())
+            {
+                members.add(CodeBlock.builder().addStatement("wrappedMembers = $L", wrapMethod.memberCount()).build());
+            }
+            members.add(failIf("limit() > maxLimit"));
+            members.add(CodeBlock.builder().addStatement("return this").build());
+            return builder.addCode(members.build(builder, methodBudget(), helpers))
                           .build();
         }
     }
@@ -1154,7 +1139,11 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
     private final class WrapMethodGenerator extends MethodSpecGenerator
     {
         private final ClassName thisType;
+        private final MemberCode members = new MemberCode();
+        private final List<CodeBlock> memberCodes = new ArrayList<>();
         private String anchorLimit;
+        private String extentLimit;
+        private int limitMembers;
 
         private WrapMethodGenerator(
             ClassName thisType)
@@ -1166,7 +1155,7 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
                     .addParameter(int.class, "offset")
                     .addParameter(int.class, "maxLimit")
                     .returns(thisName));
-            builder.addStatement("super.wrap(buffer, offset, maxLimit)");
+            members.add(CodeBlock.builder().addStatement("super.wrap(buffer, offset, maxLimit)").build());
             this.thisType = thisType;
         }
 
@@ -1183,8 +1172,14 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             {
                 // TODO: is this dead code? I can't find a case where type should be equal to DirectBuffer
                 // and we never get here during generation of the test idl during build
-                builder.addStatement("$LRO.wrap(buffer, offset + $L, maxLimit - (offset + $L))",
-                        name, offset(name), offset(name));
+                CodeBlock code = CodeBlock.builder()
+                        .addStatement("$LRO.wrap(buffer, offset + $L, maxLimit - (offset + $L))",
+                            name, offset(name), offset(name))
+                        .build();
+                members.add(code);
+                memberCodes.add(code);
+                extentLimit = name + "RO.capacity()";
+                limitMembers = memberCodes.size();
             }
             else if (!typeName.isPrimitive())
             {
@@ -1208,9 +1203,6 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             TypeName unsignedTypeName,
             int size)
         {
-            ClassName iteratorClass = iteratorClass(thisType, typeName, unsignedTypeName);
-            TypeName targetType = (unsignedTypeName != null) ? unsignedTypeName : typeName;
-            targetType = targetType == TypeName.LONG ? targetType : TypeName.INT;
             CodeBlock.Builder code = CodeBlock.builder();
             String offsetName;
             if (anchorLimit != null)
@@ -1222,13 +1214,9 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             {
                 offsetName = "offset + " + offset(name);
             }
-            code.add("$[")
-                .add("$L = new $T($S, $L, $L, $L, o -> ",
-                        iterator(name), iteratorClass, name, offsetName, size(name), arraySize(name));
-            addBufferGet(code, targetType, type, typeName, unsignedTypeName, "o");
-            code.add(")")
-                .add(";\n$]");
-            builder.addCode(code.build());
+            code.addStatement("$L.wrap($L, $L)", iterator(name), offsetName, arraySize(name));
+            members.addHelper(helperName(name), code.build());
+            memberCodes.add(code.build());
         }
 
         private void addVariableIntegerArrayMember(
@@ -1238,11 +1226,8 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             TypeName unsignedTypeName,
             String sizeName)
         {
-            ClassName iteratorClass = iteratorClass(thisType, typeName, unsignedTypeName);
             String offsetName = "offset" + initCap(name);
             String limitName = "limit" + initCap(name);
-            TypeName targetType = (unsignedTypeName != null) ? unsignedTypeName : typeName;
-            targetType = targetType == TypeName.LONG ? targetType : TypeName.INT;
             CodeBlock.Builder code = CodeBlock.builder();
             if (anchorLimit != null)
             {
@@ -1252,17 +1237,14 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             {
                 code.addStatement("final int $L = offset + $L", offsetName, offset(name));
             }
-            code.add("$[")
-                .add("$L = $L() == -1 ? null :\n", iterator(name), methodName(sizeName))
-                .add("new $T($S, $L, $L, (int) $L(), o -> ",
-                    iteratorClass, name, offsetName, size(name), methodName(sizeName));
-            addBufferGet(code, targetType, type, typeName, unsignedTypeName, "o");
-            code.add(")")
-                .add(";\n$]")
+            code.addStatement("$L.wrap($L, (int) $L())", iterator(name), offsetName, methodName(sizeName))
                 .addStatement("$L = $L() == -1 ? $L : $L + $L * $L()", limitName, methodName(sizeName),
                         offsetName, offsetName, size(name), methodName(sizeName));
-            builder.addCode(code.build());
+            members.addHelper(helperName(name), code.build());
+            memberCodes.add(code.build());
             anchorLimit = limitName;
+            extentLimit = limitName;
+            limitMembers = memberCodes.size();
         }
 
         private void addNonPrimitiveMember(
@@ -1273,31 +1255,32 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             String sizeName,
             Object defaultValue)
         {
+            CodeBlock.Builder code = CodeBlock.builder();
             if (anchorLimit != null)
             {
                 if (size >= 0)
                 {
-                    builder.addStatement("$LRO.wrap(buffer, $L + $L, $L + $L + $L)",
+                    code.addStatement("$LRO.wrap(buffer, $L + $L, $L + $L + $L)",
                             name, anchorLimit, offset(name), anchorLimit, offset(name), size);
                 }
                 else if (sizeName != null)
                 {
                     if (defaultValue == NULL_DEFAULT)
                     {
-                        builder.addStatement(
+                        code.addStatement(
                             "$LRO.wrap(buffer, $L + $L, $L + $L + ((int) $L() == -1 ? 0 : (int) $L()))",
                             name, anchorLimit, offset(name), anchorLimit, offset(name), methodName(sizeName),
                             methodName(sizeName));
                     }
                     else
                     {
-                        builder.addStatement("$LRO.wrap(buffer, $L + $L, $L + $L + (int) $L())",
+                        code.addStatement("$LRO.wrap(buffer, $L + $L, $L + $L + (int) $L())",
                             name, anchorLimit, offset(name), anchorLimit, offset(name), methodName(sizeName));
                     }
                 }
                 else
                 {
-                    builder.addStatement("$LRO.wrap(buffer, $L + $L, maxLimit)",
+                    code.addStatement("$LRO.wrap(buffer, $L + $L, maxLimit)",
                             name, anchorLimit, offset(name));
                 }
             }
@@ -1305,119 +1288,198 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             {
                 if (size >= 0)
                 {
-                    builder.addStatement("$LRO.wrap(buffer, offset + $L, offset + $L + $L)",
+                    code.addStatement("$LRO.wrap(buffer, offset + $L, offset + $L + $L)",
                             name, offset(name), offset(name), size);
                 }
                 else if (sizeName != null)
                 {
                     if (defaultValue == NULL_DEFAULT)
                     {
-                        builder.addStatement(
+                        code.addStatement(
                                 "$LRO.wrap(buffer, offset + $L, offset + $L + ((int) $L() == -1 ? 0 : (int) $L()))",
                                 name, offset(name), offset(name), methodName(sizeName), methodName(sizeName));
                     }
                     else
                     {
-                        builder.addStatement(
+                        code.addStatement(
                                 "$LRO.wrap(buffer, offset + $L, offset + $L + (int) $L())",
                                 name, offset(name), offset(name), methodName(sizeName));
                     }
                 }
                 else
                 {
-                    builder.addStatement("$LRO.wrap(buffer, offset + $L, maxLimit)",
+                    code.addStatement("$LRO.wrap(buffer, offset + $L, maxLimit)",
                             name, offset(name));
                 }
             }
+            members.addHelper(helperName(name), code.build());
+            memberCodes.add(code.build());
             anchorLimit = name + "RO.limit()";
-        }
 
-        private void addBufferGet(
-            CodeBlock.Builder codeBlock,
-            TypeName targetType,
-            AstType type,
-            TypeName typeName,
-            TypeName unsignedTypeName,
-            String offset)
-        {
-            if (type.bits() == 24)
+            String extentOffset = String.format("%s + %s", extentLimit != null ? extentLimit : "offset()", offset(name));
+            if (size >= 0)
             {
-                if (type.isUnsignedInt())
-                {
-                    codeBlock.add("$T.NATIVE_BYTE_ORDER == $T.BIG_ENDIAN ? ", BUFFER_UTIL_TYPE, ByteOrder.class)
-                             .add("(buffer().getByte($L) & 0xff) << 16 |", offset)
-                             .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
-                             .add(" (buffer().getByte($L + 2) & 0xff)", offset)
-                             .add(" : ")
-                             .add("(buffer().getByte($L + 2) & 0xff) << 16 |", offset)
-                             .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
-                             .add(" (buffer().getByte($L) & 0xff)", offset);
-                }
-                else
-                {
-                    codeBlock.add("$T.NATIVE_BYTE_ORDER == $T.BIG_ENDIAN ? ", BUFFER_UTIL_TYPE, ByteOrder.class)
-                             .add("buffer().getByte($L) << 16 |", offset)
-                             .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
-                             .add(" (buffer().getByte($L + 2) & 0xff)", offset)
-                             .add(" : ")
-                             .add("buffer().getByte($L + 2) << 16 |", offset)
-                             .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
-                             .add(" (buffer().getByte($L) & 0xff)", offset);
-                }
+                extentLimit = String.format("%s + %d", extentOffset, size);
+            }
+            else if (sizeName != null)
+            {
+                extentLimit = defaultValue == NULL_DEFAULT ?
+                    String.format("%s + ((int) %s() == -1 ? 0 : (int) %s())", extentOffset, methodName(sizeName),
+                        methodName(sizeName)) :
+                    String.format("%s + (int) %s()", extentOffset, methodName(sizeName));
             }
             else
             {
-                String getterName = GETTER_NAMES.get(typeName);
-                if (getterName == null)
-                {
-                    throw new IllegalStateException("member type not supported: " + typeName);
-                }
-                if (targetType != typeName)
-                {
-                    codeBlock.add("($T)(", targetType);
-                }
+                extentLimit = anchorLimit;
+                limitMembers = memberCodes.size();
+            }
+        }
 
-                codeBlock.add("buffer().$L($L", getterName, offset);
+        private boolean hasMembers()
+        {
+            return !memberCodes.isEmpty();
+        }
 
-                if (targetType != typeName  && unsignedTypeName != null)
-                {
-                    if (typeName == TypeName.BYTE)
-                    {
-                        codeBlock.add(") & 0xFF)");
-                    }
-                    else if (typeName == TypeName.SHORT)
-                    {
-                        codeBlock.add(") & 0xFFFF)", ByteOrder.class);
-                    }
-                    else if (typeName == TypeName.INT)
-                    {
-                        codeBlock.add(") & 0xFFFF_FFFFL)", ByteOrder.class);
-                    }
-                    else
-                    {
-                        codeBlock.add(")");
-                    }
-                }
-                else
-                {
-                    codeBlock.add(")");
-                }
-                if (targetType != typeName && unsignedTypeName == null)
-                {
-                    codeBlock.add(")");
-                }
-            }
+        private int memberCount()
+        {
+            return memberCodes.size();
+        }
+
+        private int limitMemberCount()
+        {
+            return limitMembers;
+        }
+
+        private String extentLimit()
+        {
+            return extentLimit;
+        }
+
+        private MethodSpec generateWrapMembers()
+        {
+            MethodSpec.Builder method = methodBuilder("wrapMembers")
+                    .addModifiers(PRIVATE)
+                    .addParameter(int.class, "count")
+                    .beginControlFlow("if (wrappedMembers < count)")
+                    .addStatement("final $T buffer = buffer()", DIRECT_BUFFER_TYPE)
+                    .addStatement("final int offset = offset()")
+                    .addStatement("final int maxLimit = maxLimit()")
+                    .beginControlFlow("for (; wrappedMembers < count; wrappedMembers++)")
+                    .beginControlFlow("switch (wrappedMembers)");
+            for (int index = 0; index < memberCodes.size(); index++)
+            {
+                method.beginControlFlow("case $L:", index)
+                      .addCode(memberCodes.get(index))
+                      .addStatement("break")
+                      .endControlFlow();
+            }
+            return method.endControlFlow()
+                         .endControlFlow()
+                         .endControlFlow()
+                         .build();
         }
 
         @Override
         public MethodSpec generate()
         {
-            return builder.addStatement("checkLimit(limit(), maxLimit)")
-                          .addStatement("return this")
+            if (lazyWrap && hasMembers())
+            {
+                builder.addStatement("super.wrap(buffer, offset, maxLimit)")
+                       .addStatement("wrappedMembers = 0");
+                if (limitMembers != 0)
+                {
+                    builder.addStatement("wrapMembers($L)", limitMembers);
+                }
+                return builder.addStatement("checkLimit(limit(), maxLimit)")
+                              .addStatement("return this")
+                              .build();
+            }
+            members.add(CodeBlock.builder()
+                .addStatement("checkLimit(limit(), maxLimit)")
+                .addStatement("return this")
+                .build());
+            return builder.addCode(members.build(builder, methodBudget(), helpers))
                           .build();
         }
     }
 
+    private static final class MemberCode
+    {
+        private static final List<ParameterSpec> HELPER_PARAMETERS = Arrays.asList(
+            ParameterSpec.builder(DIRECT_BUFFER_TYPE, "buffer").build(),
+            ParameterSpec.builder(int.class, "offset").build(),
+            ParameterSpec.builder(int.class, "maxLimit").build());
+
+        private final CodeBlock.Builder inline = CodeBlock.builder();
+        private final CodeBlock.Builder split = CodeBlock.builder();
+        private final List<MethodSpec> helpers = new ArrayList<>();
+
+        private void add(
+            CodeBlock code)
+        {
+            inline.add(code);
+            split.add(code);
+        }
+
+        private void addInline(
+            CodeBlock code)
+        {
+            inline.add(code);
+        }
+
+        private void addHelper(
+            String helperName,
+            CodeBlock code)
+        {
+            MethodSpec helper = helper(helperName, TypeName.VOID, code);
+            addHelper(code, CodeBlock.builder().addStatement("$L($L)", helperName, arguments(helper)).build(), helper);
+        }
+
+        private void addHelper(
+            CodeBlock code,
+            CodeBlock call,
+            MethodSpec helper)
+        {
+            inline.add(code);
+            split.add(call);
+            helpers.add(helper);
+        }
+
+        private static MethodSpec helper(
+            String helperName,
+            TypeName returnType,
+            CodeBlock code)
+        {
+            MethodSpec.Builder helper = methodBuilder(helperName)
+                .addModifiers(PRIVATE)
+                .returns(returnType);
+            HELPER_PARAMETERS.stream()
+                .filter(p -> MethodBudget.references(code, p.name))
+                .forEach(helper::addParameter);
+            return helper.addCode(code).build();
+        }
+
+        private static String arguments(
+            MethodSpec helper)
+        {
+            return helper.parameters.stream().map(p -> p.name).collect(joining(", "));
+        }
+
+        private CodeBlock build(
+            MethodSpec.Builder method,
+            MethodBudget budget,
+            Map<String, MethodSpec> sharedHelpers)
+        {
+            CodeBlock code = inline.build();
+            if (budget.exceeds(method, code))
+            {
+                helpers.forEach(h -> sharedHelpers.putIfAbsent(h.name, h));
+                code = split.build();
+            }
+            return code;
+        }
+    }
+
     private final class ToStringMethodGenerator extends MethodSpecGenerator
     {
         private final List<String> formats = new LinkedList<>();
@@ -1461,6 +1523,10 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
             }
             else
             {
+                if (lazyWrap && wrapMethod.hasMembers())
+                {
+                    builder.addStatement("wrapMembers($L)", wrapMethod.memberCount());
+                }
                 String format = String.format("%s [%s]", typeName, String.join(", ", formats));
                 builder.addStatement("return String.format($S, $L)", format, String.join(", ", args));
             }
@@ -3432,6 +3498,12 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
         return String.format("INDEX_%s", constant(fieldName));
     }
 
+    private static String helperName(
+        String fieldName)
+    {
+        return "wrap" + initCap(fieldName);
+    }
+
     private static String initCap(
         String value)
     {
@@ -3472,6 +3544,83 @@ public final class StructFlyweightGenerator extends ClassSpecGenerator
         return "iterator" + initCap(fieldName);
     }
 
+    private static void addBufferGet(
+        CodeBlock.Builder codeBlock,
+        TypeName targetTypeName,
+        AstType type,
+        TypeName typeName,
+        TypeName unsignedTypeName,
+        String offset)
+    {
+        if (type.bits() == 24)
+        {
+            if (type.isUnsignedInt())
+            {
+                codeBlock.add("$T.NATIVE_BYTE_ORDER == $T.BIG_ENDIAN ? ", BUFFER_UTIL_TYPE, ByteOrder.class)
+                         .add("(buffer().getByte($L) & 0xff) << 16 |", offset)
+                         .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
+                         .add(" (buffer().getByte($L + 2) & 0xff)", offset)
+                         .add(" : ")
+                         .add("(buffer().getByte($L + 2) & 0xff) << 16 |", offset)
+                         .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
+                         .add(" (buffer().getByte($L) & 0xff)", offset);
+            }
+            else
+            {
+                codeBlock.add("$T.NATIVE_BYTE_ORDER == $T.BIG_ENDIAN ? ", BUFFER_UTIL_TYPE, ByteOrder.class)
+                         .add("buffer().getByte($L) << 16 |", offset)
+                         .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
+                         .add(" (buffer().getByte($L + 2) & 0xff)", offset)
+                         .add(" : ")
+                         .add("buffer().getByte($L + 2) << 16 |", offset)
+                         .add(" (buffer().getByte($L + 1) & 0xff) << 8 |", offset)
+                         .add(" (buffer().getByte($L) & 0xff)", offset);
+            }
+        }
+        else
+        {
+            String getterName = GETTER_NAMES.get(typeName);
+            if (getterName == null)
+            {
+                throw new IllegalStateException("member type not supported: " + typeName);
+            }
+            if (targetTypeName != typeName)
+            {
+                codeBlock.add("($T)(", targetTypeName);
+            }
+
+            codeBlock.add("buffer().$L($L", getterName, offset);
+
+            if (targetTypeName != typeName  && unsignedTypeName != null)
+            {
+                if (typeName == TypeName.BYTE)
+                {
+                    codeBlock.add(") & 0xFF)");
+                }
+                else if (typeName == TypeName.SHORT)
+                {
+                    codeBlock.add(") & 0xFFFF)", ByteOrder.class);
+                }
+                else if (typeName == TypeName.INT)
+                {
+                    codeBlock.add(") & 0xFFFF_FFFFL)", ByteOrder.class);
+                }
+                else
+                {
+                    codeBlock.add(")");
+                }
+            }
+            else
+            {
+                codeBlock.add(")");
+            }
+            if (targetTypeName != typeName && unsignedTypeName == null)
+            {
+                codeBlock.add(")");
+            }
+        }
+    }
+
     private static ClassName iteratorClass(
         ClassName structName,
         TypeName type,
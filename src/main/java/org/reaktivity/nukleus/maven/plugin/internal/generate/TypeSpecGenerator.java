@@ -28,6 +28,8 @@ public abstract class TypeSpecGenerator<T extends TypeName>
     protected final T thisName;
     protected final ClassName thisRawName;
 
+    private MethodBudget methodBudget = MethodBudget.DISABLED;
+
     protected TypeSpecGenerator(
         T thisType,
         ClassName thisRawType)
@@ -41,5 +43,21 @@ public abstract class TypeSpecGenerator<T extends TypeName>
         return thisRawName;
     }
 
+    public final void methodBudget(
+        MethodBudget methodBudget)
+    {
+        this.methodBudget = methodBudget;
+    }
+
+    protected final MethodBudget methodBudget()
+    {
+        return methodBudget;
+    }
+
+    public WireLayout layout()
+    {
+        return null;
+    }
+
     public abstract TypeSpec generate();
 }
@@ -37,6 +37,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -911,6 +912,10 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
         private final TypeName kindTypeName;
         private final AstType ofType;
         private final TypeResolver resolver;
+        private final CodeBlock.Builder inlineCases = CodeBlock.builder();
+        private final CodeBlock.Builder splitCases = CodeBlock.builder();
+        private final Map<String, MethodSpec> helpers = new LinkedHashMap<>();
+        private boolean split;
 
         private ToStringMethodGenerator(
             TypeName kindTypeName,
@@ -924,10 +929,6 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
             this.kindTypeName = kindTypeName;
             this.ofType = ofType;
             this.resolver = resolver;
-            if (!isListType(ofType) && !isArrayType(ofType) && !isMapType(ofType) && !isBoundedOctetsType(ofType))
-            {
-                builder.beginControlFlow("switch (kind())");
-            }
         }
 
         public ToStringMethodGenerator addMember(
@@ -940,46 +941,68 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
         {
             if (!isListType(ofType) && !isArrayType(ofType) && !isMapType(ofType) && !isBoundedOctetsType(ofType))
             {
-                builder.beginControlFlow("case $L:", kindTypeName.isPrimitive() && memberType != null ?
-                    kind(memberName) : kindValue);
+                Object caseValue = kindTypeName.isPrimitive() && memberType != null ? kind(memberName) : kindValue;
+                inlineCases.beginControlFlow("case $L:", caseValue);
+                splitCases.beginControlFlow("case $L:", caseValue);
                 if (memberType != null)
                 {
+                    CodeBlock.Builder code = CodeBlock.builder();
                     if (isStringType(memberType))
                     {
-                        builder.addStatement("return String.format(\"$L [$L=%s]\", $LRO.asString())", constant(baseName),
+                        code.addStatement("return String.format(\"$L [$L=%s]\", $LRO.asString())", constant(baseName),
                             memberName, memberName);
                     }
                     else if (memberTypeName == null || memberTypeName.isPrimitive())
                     {
-                        builder.addStatement("return String.format(\"$L [$L=%d]\", $L())", constant(baseName),
+                        code.addStatement("return String.format(\"$L [$L=%d]\", $L())", constant(baseName),
                             NUMBER_WORDS.get(memberName) == null ? memberName : NUMBER_WORDS.get(memberName), getAs(memberName));
                     }
                     else if (ofType == null)
                     {
                         if (mapKeyType == null)
                         {
-                            builder.addStatement("return $LRO.toString()", fieldName(memberTypeName));
+                            code.addStatement("return $LRO.toString()", fieldName(memberTypeName));
                         }
                         else
                         {
-                            builder.addStatement("return $L().toString()", fieldName(memberTypeName));
+                            code.addStatement("return $L().toString()", fieldName(memberTypeName));
                         }
                     }
                     else if (resolver.resolve(name) != null && resolver.resolve(name).getKind() == Kind.VARIANT)
                     {
-                        builder.addStatement("return $LRO.toString()", fieldName(memberTypeName));
+                        code.addStatement("return $LRO.toString()", fieldName(memberTypeName));
                     }
                     else
                     {
-                        builder.addStatement("return String.format(\"$L [$L=%s]\", $L())", constant(baseName), memberName,
+                        code.addStatement("return String.format(\"$L [$L=%s]\", $L())", constant(baseName), memberName,
                             getAs(memberName));
                     }
+                    String helperName = toStringAs(memberName);
+                    inlineCases.add(code.build());
+                    splitCases.addStatement("return $L()", helperName);
+                    helpers.putIfAbsent(helperName, methodBuilder(helperName)
+                        .addModifiers(PRIVATE)
+                        .returns(String.class)
+                        .addCode(code.build())
+                        .build());
                 }
-                builder.endControlFlow();
+                inlineCases.endControlFlow();
+                splitCases.endControlFlow();
             }
             return this;
         }
 
+        @Override
+        public void mixin(
+            TypeSpec.Builder typeBuilder)
+        {
+            super.mixin(typeBuilder);
+            if (split)
+            {
+                typeBuilder.addMethods(helpers.values());
+            }
+        }
+
         @Override
         public MethodSpec generate()
         {
@@ -989,13 +1012,29 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
             }
             else
             {
-                builder.beginControlFlow("default:")
-                    .addStatement("return String.format(\"$L [unknown]\")", constant(baseName))
-                    .endControlFlow()
-                    .endControlFlow();
+                CodeBlock code = switchCode(inlineCases);
+                split = methodBudget().exceeds(builder, code);
+                if (split)
+                {
+                    code = switchCode(splitCases);
+                }
+                builder.addCode(code);
             }
             return builder.build();
         }
+
+        private CodeBlock switchCode(
+            CodeBlock.Builder cases)
+        {
+            return CodeBlock.builder()
+                .beginControlFlow("switch (kind())")
+                .add(cases.build())
+                .beginControlFlow("default:")
+                .addStatement("return String.format(\"$L [unknown]\")", constant(baseName))
+                .endControlFlow()
+                .endControlFlow()
+                .build();
+        }
     }
 
     private static final class StringOfTypeMethodsGenerator extends ClassSpecMixinGenerator
@@ -1748,6 +1787,7 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
         private final SetMethodGenerator setMethod;
         private final SetMethodWithBufferGenerator setMethodWithBuffer;
         private final SetMethodWithStringGenerator setMethodWithString;
+        private final SetMethodWithStringGenerator setMethodWithCharSequence;
         private final SetMethodWithByteArrayGenerator setMethodWithByteArray;
         private final BuildMethodGenerator buildMethod;
         private final SetList32FieldsMethodGenerator setList32FieldsMethod;
@@ -1830,7 +1870,8 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
                 typeVarVB, typeVarVV);
             this.setMethod = new SetMethodGenerator(ofType, ofTypeName, unsignedOfTypeName, kindTypeName, resolver);
             this.setMethodWithBuffer = new SetMethodWithBufferGenerator(kindTypeName, ofType);
-            this.setMethodWithString = new SetMethodWithStringGenerator(kindTypeName, ofType);
+            this.setMethodWithString = new SetMethodWithStringGenerator(kindTypeName, ofType, false);
+            this.setMethodWithCharSequence = new SetMethodWithStringGenerator(kindTypeName, ofType, true);
             this.setMethodWithByteArray = new SetMethodWithByteArrayGenerator(kindTypeName, ofType);
             this.buildMethod = new BuildMethodGenerator(kindTypeName, thisVariantType, ofType);
             this.setList32FieldsMethod = new SetList32FieldsMethodGenerator(ofType);
@@ -1906,6 +1947,7 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
             setMethod.addMember(memberName, memberType, memberTypeName, unsignedMemberTypeName);
             setMethodWithBuffer.addMember(memberName, memberTypeName, unsignedMemberTypeName);
             setMethodWithString.addMember(memberName, memberTypeName, unsignedMemberTypeName);
+            setMethodWithCharSequence.addMember(memberName, memberTypeName, unsignedMemberTypeName);
             setMethodWithByteArray.addMember(memberName, memberTypeName, unsignedMemberTypeName);
             buildMethod.addMember(memberType);
             setList32FieldsMethod.addMember(memberType);
@@ -1928,6 +1970,7 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
             setMethod.mixin(builder);
             setMethodWithBuffer.mixin(builder);
             setMethodWithString.mixin(builder);
+            setMethodWithCharSequence.mixin(builder);
             setMethodWithByteArray.mixin(builder);
             wrapMethod.mixin(builder);
             wrapMethodWithArray.mixin(builder);
@@ -2556,10 +2599,12 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
             private final Set<TypeWidth> kindTypeSet = new TreeSet<>();
             private final AstType ofType;
             private final TypeName kindType;
+            private final boolean charSequence;
 
             private SetMethodWithStringGenerator(
                 TypeName kindTypeName,
-                AstType ofType)
+                AstType ofType,
+                boolean charSequence)
             {
                 super(methodBuilder("set")
                     .addAnnotation(Override.class)
@@ -2567,6 +2612,7 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
                     .returns(thisName));
                 this.ofType = ofType;
                 this.kindType = kindTypeName;
+                this.charSequence = charSequence;
             }
 
             public SetMethodWithStringGenerator addMember(
@@ -2596,9 +2642,17 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
             @Override
             public MethodSpec generate()
             {
-                builder.addParameter(String.class, "value")
-                    .addParameter(Charset.class, "charset")
-                    .addStatement("int length = value.length()")
+                String arguments = charSequence ? "value" : "value, charset";
+                if (charSequence)
+                {
+                    builder.addParameter(CharSequence.class, "value");
+                }
+                else
+                {
+                    builder.addParameter(String.class, "value")
+                        .addParameter(Charset.class, "charset");
+                }
+                builder.addStatement("int length = value.length()")
                     .addStatement("int highestByteIndex = Integer.numberOfTrailingZeros(Integer.highestOneBit(length)) >> 3")
                     .beginControlFlow("switch (highestByteIndex)");
                 int lastCaseSet = -1;
@@ -2609,7 +2663,7 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
                     {
                     case 8:
                         builder.beginControlFlow("case 0:")
-                            .addStatement("$L(value, charset)", setAs(type.kindTypeName()))
+                            .addStatement("$L($L)", setAs(type.kindTypeName()), arguments)
                             .addStatement("break")
                             .endControlFlow();
                         lastCaseSet = 0;
@@ -2621,7 +2675,7 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
                                 .endControlFlow();
                         }
                         builder.beginControlFlow("case 1:")
-                            .addStatement("$L(value, charset)", setAs(type.kindTypeName()))
+                            .addStatement("$L($L)", setAs(type.kindTypeName()), arguments)
                             .addStatement("break")
                             .endControlFlow();
                         lastCaseSet = 1;
@@ -2640,7 +2694,7 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
                         builder.beginControlFlow("case 2:")
                             .endControlFlow()
                             .beginControlFlow("case 3:")
-                            .addStatement("$L(value, charset)", setAs(type.kindTypeName()))
+                            .addStatement("$L($L)", setAs(type.kindTypeName()), arguments)
                             .addStatement("break")
                             .endControlFlow();
                         break;
@@ -3208,6 +3262,20 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
                         .returns(thisType)
                         .addStatement("return this");
                     builder.addMethod(setAsMethodWithStringBuilder.build());
+
+                    MethodSpec.Builder setAsMethodWithCharSequenceBuilder = methodBuilder(setAs(memberType.isDynamicType() ?
+                        fieldName(memberTypeName) : memberName))
+                        .addModifiers(PUBLIC)
+                        .addParameter(CharSequence.class, "value")
+                        .addStatement("kind($L)", kind(memberName))
+                        .addStatement("int offset = array == null || array.limit() == array.fieldsOffset() ? " +
+                            "$LRW.limit() : array.limit()", kindName)
+                        .addStatement("$T $L = $LRW.wrap(buffer(), offset, maxLimit()).set(value).build()",
+                            memberTypeName, memberName, memberName)
+                        .addStatement("limit($L.limit())", memberName)
+                        .returns(thisType)
+                        .addStatement("return this");
+                    builder.addMethod(setAsMethodWithCharSequenceBuilder.build());
                 }
                 return this;
             }
@@ -3793,6 +3861,11 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
                         .addStatement("$L.wrap(buffer(), offset(), maxLimit())", enumRW(kindTypeName))
                         .addStatement("$L.set(value)", enumRW(kindTypeName))
                         .addStatement("limit($L.build().limit())", enumRW(kindTypeName));
+                    if (isStringType(ofType))
+                    {
+                        builder.addStatement("itemKind = array == null || array.limit() == array.fieldsOffset() || " +
+                            "itemKind == value ? value : null");
+                    }
                 }
                 builder.addStatement("return this");
             }
@@ -4428,6 +4501,13 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
                         .endControlFlow()
                         .addStatement("return newItem")
                         .build());
+                    builder.addMethod(methodBuilder("needsRebuild")
+                        .addAnnotation(Override.class)
+                        .addModifiers(PUBLIC)
+                        .returns(boolean.class)
+                        .addParameter(int.class, "maxLength")
+                        .addStatement("return itemKind != minKind(maxLength)")
+                        .build());
                 }
             }
         }
@@ -4615,6 +4695,7 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
                         .get(flyweightBuilderRawType, thisType));
                     TypeName arrayTypeName = ParameterizedTypeName.get(arrayBuilderClassName, typeParamT, typeParamB, thisType);
                     builder.addField(FieldSpec.builder(arrayTypeName, "array", PRIVATE).build());
+                    builder.addField(FieldSpec.builder(enumClassName(kindTypeName), "itemKind", PRIVATE).build());
                 }
             }
         }
@@ -4775,6 +4856,14 @@ public final class VariantFlyweightGenerator extends ClassSpecGenerator
         return String.format("getAs%s%s", Character.toUpperCase(filteredName.charAt(0)), filteredName.substring(1));
     }
 
+    private static String toStringAs(
+        String fieldName)
+    {
+        String simpleName = fieldName.substring(fieldName.lastIndexOf(':') + 1);
+        String filteredName = NUMBER_WORDS.get(simpleName) == null ? simpleName : NUMBER_WORDS.get(simpleName);
+        return String.format("toStringAs%s%s", Character.toUpperCase(filteredName.charAt(0)), filteredName.substring(1));
+    }
+
     private static String setAs(
         String fieldName)
     {
@@ -0,0 +1,259 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal.generate;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstEnumNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstNamedNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstType;
+
+public final class WireLayout
+{
+    public static final int UNBOUNDED = -1;
+
+    public enum Presence
+    {
+        ALWAYS,
+        BITMASK,
+        MISSING_FIELD_BYTE,
+        TEMPLATE
+    }
+
+    private final String typeName;
+    private final List<Field> fields;
+
+    private int headerSize;
+    private Presence presence;
+
+    WireLayout(
+        String typeName)
+    {
+        this.typeName = typeName;
+        this.fields = new ArrayList<>();
+        this.presence = Presence.ALWAYS;
+    }
+
+    public String typeName()
+    {
+        return typeName;
+    }
+
+    public int headerSize()
+    {
+        return headerSize;
+    }
+
+    public Presence presence()
+    {
+        return presence;
+    }
+
+    public int bitmaskSize()
+    {
+        return presence == Presence.BITMASK ? Long.BYTES : 0;
+    }
+
+    public List<Field> fields()
+    {
+        return unmodifiableList(fields);
+    }
+
+    void header(
+        int headerSize,
+        Presence presence)
+    {
+        this.headerSize = headerSize;
+        this.presence = presence;
+    }
+
+    void addField(
+        String name,
+        String type,
+        String anchor,
+        int offset,
+        int minSize,
+        int maxSize,
+        boolean required)
+    {
+        fields.add(new Field(name, type, anchor, offset, minSize, maxSize, required));
+    }
+
+    public static int minSize(
+        TypeResolver resolver,
+        AstType type,
+        int size,
+        String sizeName)
+    {
+        AstType encodedType = encodedType(resolver, type);
+
+        int minSize;
+        if (sizeName != null)
+        {
+            minSize = 0;
+        }
+        else if (encodedType.bits() > 0)
+        {
+            minSize = (encodedType.bits() >> 3) * Math.max(size, 1);
+        }
+        else if (AstType.OCTETS.equals(encodedType))
+        {
+            minSize = Math.max(size, 0);
+        }
+        else if (AstType.STRING8.equals(encodedType) || AstType.VARINT32.equals(encodedType) ||
+                 AstType.VARINT64.equals(encodedType) || AstType.VARBYTEUINT32.equals(encodedType))
+        {
+            minSize = Byte.BYTES;
+        }
+        else if (AstType.STRING16.equals(encodedType))
+        {
+            minSize = Short.BYTES;
+        }
+        else if (AstType.STRING32.equals(encodedType))
+        {
+            minSize = Integer.BYTES;
+        }
+        else
+        {
+            minSize = 0;
+        }
+        return minSize;
+    }
+
+    public static int maxSize(
+        TypeResolver resolver,
+        AstType type,
+        int size,
+        String sizeName)
+    {
+        AstType encodedType = encodedType(resolver, type);
+
+        int maxSize;
+        if (sizeName != null)
+        {
+            maxSize = UNBOUNDED;
+        }
+        else if (encodedType.bits() > 0)
+        {
+            maxSize = minSize(resolver, encodedType, size, null);
+        }
+        else if (AstType.OCTETS.equals(encodedType))
+        {
+            maxSize = size == -1 ? UNBOUNDED : size;
+        }
+        else if (AstType.STRING8.equals(encodedType))
+        {
+            maxSize = Byte.BYTES + 0xff;
+        }
+        else if (AstType.STRING16.equals(encodedType))
+        {
+            maxSize = Short.BYTES + 0xffff;
+        }
+        else if (AstType.VARINT32.equals(encodedType) || AstType.VARBYTEUINT32.equals(encodedType))
+        {
+            maxSize = 5;
+        }
+        else if (AstType.VARINT64.equals(encodedType))
+        {
+            maxSize = 10;
+        }
+        else
+        {
+            maxSize = UNBOUNDED;
+        }
+        return maxSize;
+    }
+
+    private static AstType encodedType(
+        TypeResolver resolver,
+        AstType type)
+    {
+        AstNamedNode node = type.isDynamicType() ? resolver.resolve(type.name()) : null;
+        if (node instanceof AstEnumNode)
+        {
+            AstType valueType = ((AstEnumNode) node).valueType();
+            return valueType != null ? valueType : AstType.UINT8;
+        }
+        return type;
+    }
+
+    public static final class Field
+    {
+        private final String name;
+        private final String type;
+        private final String anchor;
+        private final int offset;
+        private final int minSize;
+        private final int maxSize;
+        private final boolean required;
+
+        private Field(
+            String name,
+            String type,
+            String anchor,
+            int offset,
+            int minSize,
+            int maxSize,
+            boolean required)
+        {
+            this.name = name;
+            this.type = type;
+            this.anchor = anchor;
+            this.offset = offset;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.required = required;
+        }
+
+        public String name()
+        {
+            return name;
+        }
+
+        public String type()
+        {
+            return type;
+        }
+
+        public String anchor()
+        {
+            return anchor;
+        }
+
+        public int offset()
+        {
+            return offset;
+        }
+
+        public int minSize()
+        {
+            return minSize;
+        }
+
+        public int maxSize()
+        {
+            return maxSize;
+        }
+
+        public boolean isRequired()
+        {
+            return required;
+        }
+    }
+}
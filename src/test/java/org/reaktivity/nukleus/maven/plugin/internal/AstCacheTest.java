@@ -0,0 +1,74 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstAbstractMemberNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstStructMemberNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstStructNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstType;
+
+public class AstCacheTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldReuseCachedSpecifications() throws Exception
+    {
+        URL[] resourcePath = { new File("src/test/resources/test-project").getAbsoluteFile().toURI().toURL() };
+        try (URLClassLoader loader = new URLClassLoader(resourcePath, null))
+        {
+            AstCache cold = new AstCache(folder.getRoot().toPath());
+            List<AstSpecificationNode> parsed = new Parser().cache(cold).parseAST(singletonList("test"), loader);
+            assertEquals(0, cold.hits());
+            assertEquals(1, cold.misses());
+
+            AstCache warm = new AstCache(folder.getRoot().toPath());
+            List<AstSpecificationNode> cached = new Parser().cache(warm).parseAST(singletonList("test"), loader);
+            assertEquals(1, warm.hits());
+            assertEquals(0, warm.misses());
+
+            assertEquals(parsed, cached);
+
+            AstStructNode flatParent = cached.get(0).scope().scopes().get(0).structs().get(0);
+            assertEquals("FlatParent", flatParent.name());
+            assertSame(AstType.UINT64, flatParent.members().get(0).type());
+            assertTrue(flatParent.members().get(0).type().isUnsignedInt());
+
+            AstStructNode defaulted = cached.get(0).scope().scopes().get(0).structs().stream()
+                .filter(s -> "OctetsDefaultedNoAnchor".equals(s.name()))
+                .findFirst()
+                .get();
+            AstStructMemberNode payload = defaulted.members().get(1);
+            assertSame(AstAbstractMemberNode.NULL_DEFAULT, payload.defaultValue());
+            assertTrue(defaulted.members().get(0).usedAsSize());
+        }
+    }
+}
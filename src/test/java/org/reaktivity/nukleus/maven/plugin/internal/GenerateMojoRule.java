@@ -55,12 +55,72 @@ public class GenerateMojoRule extends MojoRule
         return this;
     }
 
+    GenerateMojoRule metaDirectory(String metaDirectory)
+    {
+        configuration.addChild("metaDirectory", metaDirectory);
+        return this;
+    }
+
+    GenerateMojoRule schemaDirectory(String schemaDirectory)
+    {
+        configuration.addChild("schemaDirectory", schemaDirectory);
+        return this;
+    }
+
     GenerateMojoRule outputDirectory(String outputDirectory)
     {
         configuration.addChild("outputDirectory", outputDirectory);
         return this;
     }
 
+    GenerateMojoRule parallelism(int parallelism)
+    {
+        configuration.addChild("parallelism", Integer.toString(parallelism));
+        return this;
+    }
+
+    GenerateMojoRule reportDirectory(String reportDirectory)
+    {
+        configuration.addChild("reportDirectory", reportDirectory);
+        return this;
+    }
+
+    GenerateMojoRule reachableOnly(boolean reachableOnly)
+    {
+        configuration.addChild("reachableOnly", Boolean.toString(reachableOnly));
+        return this;
+    }
+
+    GenerateMojoRule layoutReport(boolean layoutReport)
+    {
+        configuration.addChild("layoutReport", Boolean.toString(layoutReport));
+        return this;
+    }
+
+    GenerateMojoRule rootTypes(String rootTypes)
+    {
+        configuration.addChild("rootTypes", rootTypes);
+        return this;
+    }
+
+    GenerateMojoRule corePackageName(String corePackageName)
+    {
+        configuration.addChild("corePackageName", corePackageName);
+        return this;
+    }
+
+    GenerateMojoRule coreOnly(boolean coreOnly)
+    {
+        configuration.addChild("coreOnly", Boolean.toString(coreOnly));
+        return this;
+    }
+
+    GenerateMojoRule force(boolean force)
+    {
+        configuration.addChild("force", Boolean.toString(force));
+        return this;
+    }
+
     public void generate() throws Exception
     {
         configureMojo(mojo, configuration);
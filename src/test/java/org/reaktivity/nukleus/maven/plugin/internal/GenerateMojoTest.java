@@ -15,7 +15,23 @@
  */
 package org.reaktivity.nukleus.maven.plugin.internal;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -38,9 +54,224 @@ public class GenerateMojoTest
         throws Exception
     {
         generator.scopeNames("test")
+            .force(true)
+            .generate();
+    }
+
+    @Test
+    public void shouldNotRewriteUnchangedSources()
+        throws Exception
+    {
+        generator.scopeNames("test")
+            .outputDirectory("target/generated-test-sources/test-reaktivity-incremental")
+            .generate();
+
+        File sourceFile = new File("target/generated-test-sources/test-reaktivity-incremental/" +
+            "org/reaktivity/reaktor/internal/test/types/inner/FlatFW.java");
+        assertTrue(sourceFile.isFile());
+        assertTrue(sourceFile.setLastModified(0L));
+
+        generator.force(true)
+            .generate();
+
+        assertEquals(0L, sourceFile.lastModified());
+    }
+
+    @Test
+    public void shouldWriteGenerateReport()
+        throws Exception
+    {
+        generator.scopeNames("test")
+            .force(true)
+            .outputDirectory("target/generated-test-sources/test-reaktivity-report")
+            .reportDirectory("target/test-reports")
+            .generate();
+
+        String json = new String(Files.readAllBytes(
+            Paths.get("target/test-reports/reaktivity-report-test-reaktivity-report.json")), UTF_8);
+        assertTrue(json.contains("\"parse\""));
+        assertTrue(json.contains("\"test\""));
+        assertTrue(json.contains("\"org.reaktivity.reaktor.internal.test.types.inner.FlatFW\""));
+
+        String summary = new String(Files.readAllBytes(
+            Paths.get("target/test-reports/reaktivity-report-test-reaktivity-report.txt")), UTF_8);
+        assertTrue(summary.contains("Slowest types"));
+    }
+
+    @Test
+    public void shouldWriteWireLayoutReport()
+        throws Exception
+    {
+        generator.scopeNames("test")
+            .outputDirectory("target/generated-test-sources/test-reaktivity-layout")
+            .reportDirectory("target/test-reports")
+            .layoutReport(true)
+            .generate();
+
+        String json = new String(Files.readAllBytes(
+            Paths.get("target/test-reports/reaktivity-layout-test-reaktivity-layout.json")), UTF_8);
+        assertTrue(json.contains("\"org.reaktivity.reaktor.internal.test.types.inner.FlatFW\""));
+        assertTrue(json.contains("\"presence\": \"bitmask\""));
+
+        String summary = new String(Files.readAllBytes(
+            Paths.get("target/test-reports/reaktivity-layout-test-reaktivity-layout.txt")), UTF_8);
+        assertTrue(summary.contains("org.reaktivity.reaktor.internal.test.types.inner.FlatFW\n"));
+        assertTrue(summary.matches("(?s).*\\n    fixed3 +@string1\\+0 +3 bytes\\n.*"));
+    }
+
+    @Test
+    public void shouldGenerateOnlyReachableTypes()
+        throws Exception
+    {
+        Path outputPath = Paths.get("target/generated-test-sources/test-reaktivity-reachable");
+
+        generator.scopeNames("test")
+            .force(true)
+            .outputDirectory(outputPath.toString())
+            .reachableOnly(true)
+            .rootTypes("test::inner::Flat")
+            .generate();
+
+        List<Path> sources = listSources(outputPath);
+        Path typesPath = Paths.get("org/reaktivity/reaktor/internal/test/types");
+        assertTrue(sources.contains(typesPath.resolve("inner/FlatFW.java")));
+        assertTrue(sources.contains(typesPath.resolve("Flyweight.java")));
+        assertTrue(sources.contains(typesPath.resolve("String8FW.java")));
+        assertFalse(sources.contains(typesPath.resolve("inner/FlatWithOctetsFW.java")));
+        assertFalse(sources.contains(typesPath.resolve("Map32FW.java")));
+    }
+
+    @Test
+    public void shouldGenerateCoreTypesOnly()
+        throws Exception
+    {
+        Path outputPath = Paths.get("target/generated-test-sources/test-reaktivity-core");
+        Path schemaPath = Paths.get("target/test-schemas/core");
+
+        generator.scopeNames("test")
+            .force(true)
+            .packageName("org.reaktivity.reaktor.internal.test.core")
+            .outputDirectory(outputPath.toString())
+            .schemaDirectory(schemaPath.toString())
+            .coreOnly(true)
+            .generate();
+
+        List<Path> sources = listSources(outputPath);
+        Path corePath = Paths.get("org/reaktivity/reaktor/internal/test/core");
+        assertTrue(sources.contains(corePath.resolve("Flyweight.java")));
+        assertTrue(sources.contains(corePath.resolve("Map32FW.java")));
+        assertTrue(sources.stream().allMatch(s -> s.getParent().equals(corePath)));
+
+        String flyweight = new String(Files.readAllBytes(outputPath.resolve(corePath.resolve("Flyweight.java"))), UTF_8);
+        assertTrue(flyweight.contains(String.format("CORE_VERSION = \"%s\";", Generator.coreVersion())));
+
+        Path marker = schemaPath.resolve("META-INF/reaktivity/org.reaktivity.reaktor.internal.test.core.core");
+        assertEquals(Generator.coreVersion(), new String(Files.readAllBytes(marker), UTF_8));
+    }
+
+    @Test
+    public void shouldReferenceCoreTypesFromCorePackage()
+        throws Exception
+    {
+        Path outputPath = Paths.get("target/generated-test-sources/test-reaktivity-without-core");
+        Path metaPath = Paths.get("target/test-schemas/core-marker");
+        Files.createDirectories(metaPath);
+        Files.write(metaPath.resolve("org.reaktivity.reaktor.internal.test.core.core"), Generator.coreVersion().getBytes(UTF_8));
+
+        generator.scopeNames("test")
+            .force(true)
+            .outputDirectory(outputPath.toString())
+            .metaDirectory(metaPath.toString())
+            .corePackageName("org.reaktivity.reaktor.internal.test.core")
+            .generate();
+
+        List<Path> sources = listSources(outputPath);
+        Path typesPath = Paths.get("org/reaktivity/reaktor/internal/test/types");
+        assertFalse(sources.contains(typesPath.resolve("Flyweight.java")));
+        assertTrue(sources.contains(typesPath.resolve("inner/FlatFW.java")));
+
+        String flat = new String(Files.readAllBytes(outputPath.resolve(typesPath.resolve("inner/FlatFW.java"))), UTF_8);
+        assertTrue(flat.contains("import org.reaktivity.reaktor.internal.test.core.Flyweight;"));
+    }
+
+    @Test(expected = MojoFailureException.class)
+    public void shouldNotReferenceCoreTypesWithDifferentVersion()
+        throws Exception
+    {
+        Path metaPath = Paths.get("target/test-schemas/core-stale");
+        Files.createDirectories(metaPath);
+        Files.write(metaPath.resolve("org.reaktivity.reaktor.internal.test.core.core"), "0000000000000000".getBytes(UTF_8));
+
+        generator.scopeNames("test")
+            .force(true)
+            .outputDirectory("target/generated-test-sources/test-reaktivity-stale-core")
+            .metaDirectory(metaPath.toString())
+            .corePackageName("org.reaktivity.reaktor.internal.test.core")
+            .generate();
+    }
+
+    @Test(expected = MojoFailureException.class)
+    public void shouldNotReferenceMissingCoreTypes()
+        throws Exception
+    {
+        generator.scopeNames("test")
+            .force(true)
+            .outputDirectory("target/generated-test-sources/test-reaktivity-missing-core")
+            .corePackageName("org.reaktivity.reaktor.internal.test.missing")
             .generate();
     }
 
+    @Test
+    public void shouldPublishPreParsedSchemas()
+        throws Exception
+    {
+        Path metaPath = Paths.get("target/test-schemas/meta");
+        Path schemaPath = Paths.get("target/test-schemas/published");
+        Files.createDirectories(metaPath);
+        Files.copy(Paths.get("src/test/resources/test-project/test.idl"), metaPath.resolve("test.idl"), REPLACE_EXISTING);
+
+        generator.scopeNames("test")
+            .force(true)
+            .outputDirectory("target/generated-test-sources/test-reaktivity-schemas")
+            .metaDirectory(metaPath.toString())
+            .schemaDirectory(schemaPath.toString())
+            .generate();
+
+        Path schema = schemaPath.resolve("META-INF/reaktivity/test.ast");
+        String digest = Digests.sha256(Files.readAllBytes(metaPath.resolve("test.idl")));
+        assertTrue(PublishedSchema.isCurrent(schema, digest));
+        assertTrue(schema.toFile().setLastModified(0L));
+
+        generator.generate();
+
+        assertEquals(0L, schema.toFile().lastModified());
+    }
+
+    @Test
+    public void shouldGenerateIdenticalSourcesInParallel()
+        throws Exception
+    {
+        Path sequentialPath = Paths.get("target/generated-test-sources/test-reaktivity-sequential");
+        Path parallelPath = Paths.get("target/generated-test-sources/test-reaktivity-parallel");
+
+        generator.scopeNames("test")
+            .force(true)
+            .outputDirectory(sequentialPath.toString())
+            .generate();
+
+        generator.parallelism(4)
+            .outputDirectory(parallelPath.toString())
+            .generate();
+
+        List<Path> sequentialSources = listSources(sequentialPath);
+        assertEquals(sequentialSources, listSources(parallelPath));
+        for (Path source : sequentialSources)
+        {
+            assertArrayEquals(Files.readAllBytes(sequentialPath.resolve(source)),
+                Files.readAllBytes(parallelPath.resolve(source)));
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldNotGenerateInvalidIntArrayLengthHasDefault()
         throws Exception
@@ -90,4 +321,15 @@ public class GenerateMojoTest
             .generate();
     }
 
+    private static List<Path> listSources(
+        Path directory) throws Exception
+    {
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            return paths.filter(Files::isRegularFile)
+                .map(directory::relativize)
+                .sorted()
+                .collect(toList());
+        }
+    }
 }
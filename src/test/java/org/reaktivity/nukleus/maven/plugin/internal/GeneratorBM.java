@@ -0,0 +1,207 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.parse.AstParser;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.visit.ScopeVisitor;
+import org.reaktivity.nukleus.maven.plugin.internal.bench.SyntheticIdl;
+import org.reaktivity.nukleus.maven.plugin.internal.generate.TypeResolver;
+import org.reaktivity.nukleus.maven.plugin.internal.generate.TypeSpecGenerator;
+import org.reaktivity.nukleus.maven.plugin.internal.parser.NukleusLexer;
+import org.reaktivity.nukleus.maven.plugin.internal.parser.NukleusParser;
+import org.reaktivity.nukleus.maven.plugin.internal.parser.NukleusParser.SpecificationContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 3, time = 3, timeUnit = SECONDS)
+@OutputTimeUnit(MILLISECONDS)
+public class GeneratorBM
+{
+    private static final String SCOPE_NAME = "synthetic";
+    private static final String PACKAGE_NAME = "org.reaktivity.reaktor.internal.test.types";
+    private static final List<String> TARGET_SCOPES = singletonList(SCOPE_NAME);
+
+    @Param({ "4", "32" })
+    private int scopes;
+
+    @Param({ "16" })
+    private int structs;
+
+    @Param({ "8" })
+    private int listMembers;
+
+    @Param({ "8" })
+    private int variantCases;
+
+    private Path workDirectory;
+    private File inputDirectory;
+    private File outputDirectory;
+    private ClassLoader loader;
+    private SpecificationContext parseTree;
+    private AstSpecificationNode specification;
+    private TypeResolver resolver;
+
+    @Setup(Level.Trial)
+    public void init() throws IOException
+    {
+        String idl = new SyntheticIdl(SCOPE_NAME)
+                .scopes(scopes)
+                .structs(structs)
+                .fields(8)
+                .listMembers(listMembers)
+                .variantCases(variantCases)
+                .build();
+
+        this.workDirectory = Files.createTempDirectory("generator-bm");
+        this.inputDirectory = Files.createDirectory(workDirectory.resolve("input")).toFile();
+        this.outputDirectory = workDirectory.resolve("output").toFile();
+        Files.write(inputDirectory.toPath().resolve(SCOPE_NAME + ".idl"), idl.getBytes(UTF_8));
+
+        this.loader = new URLClassLoader(new URL[] { inputDirectory.toURI().toURL() }, null);
+
+        NukleusParser parser = new NukleusParser(new CommonTokenStream(new NukleusLexer(CharStreams.fromString(idl))));
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.removeErrorListeners();
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        this.parseTree = parser.specification();
+
+        this.specification = new AstParser().visitSpecification(parseTree);
+        this.resolver = newResolver(specification);
+    }
+
+    @Setup(Level.Invocation)
+    public void clean() throws IOException
+    {
+        delete(outputDirectory.toPath());
+    }
+
+    @TearDown(Level.Trial)
+    public void destroy() throws IOException
+    {
+        delete(workDirectory);
+    }
+
+    @Benchmark
+    public List<AstSpecificationNode> parseAST() throws IOException
+    {
+        return new Parser().parseAST(TARGET_SCOPES, loader);
+    }
+
+    @Benchmark
+    public AstSpecificationNode buildAST()
+    {
+        return new AstParser().visitSpecification(parseTree);
+    }
+
+    @Benchmark
+    public TypeResolver resolve()
+    {
+        return newResolver(specification);
+    }
+
+    @Benchmark
+    public Collection<TypeSpecGenerator<?>> visitScopes()
+    {
+        return specification.accept(new ScopeVisitor(SCOPE_NAME, PACKAGE_NAME, resolver, TARGET_SCOPES));
+    }
+
+    @Benchmark
+    public File generate() throws IOException
+    {
+        Generator generator = new Generator();
+        generator.setScopeNames(SCOPE_NAME);
+        generator.setPackageName(PACKAGE_NAME);
+        generator.setInputDirectory(inputDirectory);
+        generator.setOutputDirectory(outputDirectory);
+        generator.setForce(true);
+        generator.generate(loader);
+        return outputDirectory;
+    }
+
+    private static TypeResolver newResolver(
+        AstSpecificationNode specification)
+    {
+        TypeResolver resolver = new TypeResolver(PACKAGE_NAME);
+        resolver.visit(specification);
+        return resolver;
+    }
+
+    private static void delete(
+        Path directory) throws IOException
+    {
+        if (Files.exists(directory))
+        {
+            try (Stream<Path> paths = Files.walk(directory))
+            {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator)
+                {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    public static void main(
+        String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(GeneratorBM.class.getSimpleName())
+                .forks(0)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
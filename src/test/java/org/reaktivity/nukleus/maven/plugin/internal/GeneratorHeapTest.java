@@ -0,0 +1,92 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reaktivity.nukleus.maven.plugin.internal.bench.SyntheticIdl;
+
+public class GeneratorHeapTest
+{
+    private static final int SCHEMA_FILES = 100;
+    private static final String MAX_HEAP = "-Xmx96m";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(timeout = 600000)
+    public void shouldGenerateLargeSchemaWithinBoundedHeap() throws Exception
+    {
+        File input = folder.newFolder("input");
+        File output = folder.newFolder("output");
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add(MAX_HEAP);
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(GeneratorHeapTest.class.getName());
+        command.add(input.getPath());
+        command.add(output.getPath());
+
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        process.waitFor(10, TimeUnit.MINUTES);
+
+        assertEquals(0, process.exitValue());
+    }
+
+    public static void main(
+        String[] args) throws IOException
+    {
+        File input = new File(args[0]);
+        File output = new File(args[1]);
+
+        StringBuilder scopeNames = new StringBuilder();
+        for (int i = 0; i < SCHEMA_FILES; i++)
+        {
+            String scopeName = "synthetic" + i;
+            String idl = new SyntheticIdl(scopeName)
+                    .scopes(4)
+                    .structs(20)
+                    .fields(4)
+                    .build();
+            Files.write(new File(input, scopeName + ".idl").toPath(), idl.getBytes(UTF_8));
+            scopeNames.append(scopeName).append(' ');
+        }
+
+        Generator generator = new Generator();
+        generator.setScopeNames(scopeNames.toString().trim());
+        generator.setPackageName("org.reaktivity.reaktor.internal.test.synthetic");
+        generator.setInputDirectory(input);
+        generator.setOutputDirectory(output);
+        generator.generate(new URLClassLoader(new URL[] { input.toURI().toURL() }, null));
+    }
+}
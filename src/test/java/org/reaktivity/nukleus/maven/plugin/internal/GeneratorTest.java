@@ -0,0 +1,359 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reaktivity.nukleus.maven.plugin.internal.bench.SyntheticIdl;
+
+public class GeneratorTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldRegenerateOnlyChangedScopesAndDependents() throws Exception
+    {
+        File input = folder.newFolder("input");
+        File output = new File(folder.getRoot(), "output");
+        writeIdl(input, "root", "scope root { struct R extends a::A { uint8 r; } }");
+        writeIdl(input, "a", "scope a { struct A { uint8 a; } }");
+        writeIdl(input, "b", "scope b { struct B { uint8 b; } }");
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        Generator generator = newGenerator(input, output, messages);
+
+        generator.generate(newLoader(input));
+        assertTrue(messages.toString(), messages.contains("Generated 27 sources, 27 changed, 4 of 4 scopes regenerated"));
+
+        writeIdl(input, "a", "scope a { struct A { uint8 a; uint16 a2; } }");
+        generator.generate(newLoader(input));
+        assertTrue(messages.toString(), messages.contains("Generated 27 sources, 1 changed, 2 of 4 scopes regenerated"));
+    }
+
+    @Test
+    public void shouldRegenerateWhenWatchedIdlChanges() throws Exception
+    {
+        File input = folder.newFolder("input");
+        File output = new File(folder.getRoot(), "output");
+        writeIdl(input, "b", "scope b { struct B { uint8 b; } }");
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        Generator generator = newGenerator(input, output, messages);
+        File sourceFile = new File(output, "org/example/types/CFW.java");
+
+        Thread watcher = new Thread(() ->
+        {
+            try
+            {
+                generator.watch(() -> newLoader(input));
+            }
+            catch (IOException | InterruptedException ex)
+            {
+                // stopped
+            }
+        });
+        watcher.start();
+        try
+        {
+            awaitMessage(messages, "scopes regenerated");
+            assertFalse(sourceFile.exists());
+
+            writeIdl(input, "b", "scope b { struct B { uint8 b; } struct C { uint8 c; } }");
+
+            for (long deadline = System.currentTimeMillis() + 10000L;
+                 !sourceFile.exists() && System.currentTimeMillis() < deadline;)
+            {
+                Thread.sleep(50L);
+            }
+            assertTrue(messages.toString(), sourceFile.exists());
+        }
+        finally
+        {
+            watcher.interrupt();
+            watcher.join();
+        }
+    }
+
+    @Test
+    public void shouldWriteOnlyReachableTypes() throws Exception
+    {
+        File input = folder.newFolder("input");
+        File output = new File(folder.getRoot(), "output");
+        writeIdl(input, "root", "scope root { struct A { uint8 a; } struct B { string8 b; } }");
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        Generator generator = newGenerator(input, output, messages);
+        generator.setScopeNames("root");
+        generator.setReachableOnly(true);
+        generator.setRootTypes("root::A");
+
+        generator.generate(newLoader(input));
+        assertTrue(messages.toString(), messages.contains("Generated 3 sources, 3 changed, 2 of 2 scopes regenerated"));
+        assertTrue(new File(output, "org/example/types/AFW.java").exists());
+        assertFalse(new File(output, "org/example/types/BFW.java").exists());
+        assertFalse(new File(output, "org/example/types/String8FW.java").exists());
+    }
+
+    @Test
+    public void shouldWriteLayoutReportWhenOnlyReportOptionChanges() throws Exception
+    {
+        File input = folder.newFolder("input");
+        File output = new File(folder.getRoot(), "output");
+        File reports = new File(folder.getRoot(), "reports");
+        writeIdl(input, "root", "scope root { struct A { uint8 a; } }");
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        Generator generator = newGenerator(input, output, messages);
+        generator.setScopeNames("root");
+        generator.setReportDirectory(reports);
+
+        generator.generate(newLoader(input));
+        assertFalse(new File(reports, "reaktivity-layout-output.json").exists());
+
+        generator.setLayoutReport(true);
+        generator.generate(newLoader(input));
+        assertTrue(new File(reports, "reaktivity-layout-output.json").exists());
+    }
+
+    @Test
+    public void shouldSplitMethodsOverBudget() throws Exception
+    {
+        File input = folder.newFolder("input");
+        File output = new File(folder.getRoot(), "output");
+        writeIdl(input, "root", new SyntheticIdl("root").structs(0).listMembers(12).build());
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        Generator generator = newGenerator(input, output, messages);
+        generator.setScopeNames("root");
+        generator.setEstimatedMethodBudget(200);
+
+        generator.generate(newLoader(input));
+
+        File sourceFile = new File(output, "org/example/types/rootScope0/ItemsFW.java");
+        String source = new String(Files.readAllBytes(sourceFile.toPath()), UTF_8);
+        assertTrue(source.contains("private int wrapMember11("));
+        assertTrue(source.contains("private int tryWrapMember11("));
+        assertTrue(source.contains("private void toStringMember11(StringBuilder format, Object[] values)"));
+        assertTrue(messages.toString(), messages.stream()
+            .noneMatch(m -> m.startsWith("Method estimated over budget: org.example.types.rootScope0.ItemsFW.toString")));
+    }
+
+    @Test
+    public void shouldSplitStructAndVariantMethodsOverBudget() throws Exception
+    {
+        File input = folder.newFolder("input");
+        File output = new File(folder.getRoot(), "output");
+        writeIdl(input, "split", "scope split { struct Flat { string8 first; string16 second; octets[4] third; " +
+            "string8 fourth; string16 fifth; } variant Wide switch (uint8) of int64 { case 0x71: int32; " +
+            "case 0x81: int64; case 0x50: int24; case 0x51: int8; case 0x61: int16; } }");
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        Generator generator = newGenerator(input, output, messages);
+        generator.setScopeNames("split");
+        generator.setEstimatedMethodBudget(60);
+        generator.generate(newLoader(input));
+
+        String flat = new String(Files.readAllBytes(new File(output, "org/example/types/FlatFW.java").toPath()), UTF_8);
+        assertTrue(flat.contains("private boolean tryWrapFifth(DirectBuffer buffer, int maxLimit)"));
+        assertTrue(flat.contains("return null != fifthRO.tryWrap(buffer, fourthRO.limit() + FIELD_OFFSET_FIFTH, maxLimit);"));
+        assertTrue(flat.contains("private void wrapFifth(DirectBuffer buffer, int maxLimit)"));
+        String wide = new String(Files.readAllBytes(new File(output, "org/example/types/WideFW.java").toPath()), UTF_8);
+        assertTrue(wide.contains("private String toStringAsInt16()"));
+
+        compile(output);
+    }
+
+    @Test
+    public void shouldResolveLazyListFieldsOnAccess() throws Exception
+    {
+        File input = folder.newFolder("input");
+        File output = new File(folder.getRoot(), "output");
+        writeIdl(input, "lazy", "scope lazy { list<uint32, uint32> Items { required string8 name; uint32 size; " +
+            "string8 label; uint32 count = 7; uint32 weight; } }");
+
+        Generator generator = newGenerator(input, output, new CopyOnWriteArrayList<>());
+        generator.setScopeNames("lazy");
+        generator.setLazyListWrap(true);
+        generator.generate(newLoader(input));
+
+        String source = new String(Files.readAllBytes(new File(output, "org/example/types/ItemsFW.java").toPath()), UTF_8);
+        assertTrue(source.contains("numberOfTrailingZeros(pendingFields)"));
+
+        File classes = compile(output);
+
+        MutableDirectBuffer buffer = new UnsafeBuffer(new byte[64]);
+        buffer.putInt(0, 25);
+        buffer.putInt(4, 3);
+        buffer.putLong(8, 0b10101L);
+        buffer.putByte(16, (byte) 1);
+        buffer.putByte(17, (byte) 'a');
+        buffer.putByte(18, (byte) 2);
+        buffer.putBytes(19, "bc".getBytes(UTF_8));
+        buffer.putInt(21, 42);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toURI().toURL() }, getClass().getClassLoader()))
+        {
+            Class<?> itemsType = loader.loadClass("org.example.types.ItemsFW");
+            Object items = itemsType.getConstructor().newInstance();
+            itemsType.getMethod("wrap", DirectBuffer.class, int.class, int.class).invoke(items, buffer, 0, buffer.capacity());
+
+            assertEquals(42L, itemsType.getMethod("weight").invoke(items));
+            assertEquals("bc", asString(itemsType.getMethod("label").invoke(items)));
+            assertEquals("a", asString(itemsType.getMethod("name").invoke(items)));
+            assertEquals(7L, itemsType.getMethod("count").invoke(items));
+            assertFalse((Boolean) itemsType.getMethod("hasSize").invoke(items));
+        }
+    }
+
+    @Test
+    public void shouldWrapLazyStructMembersOnAccess() throws Exception
+    {
+        File input = folder.newFolder("input");
+        File output = new File(folder.getRoot(), "output");
+        writeIdl(input, "lazy", "scope lazy { struct Point { uint32 x; string8 label; uint16 y; octets[2] tail; } }");
+
+        Generator generator = newGenerator(input, output, new CopyOnWriteArrayList<>());
+        generator.setScopeNames("lazy");
+        generator.setLazyStructWrap(true);
+        generator.generate(newLoader(input));
+
+        String source = new String(Files.readAllBytes(new File(output, "org/example/types/PointFW.java").toPath()), UTF_8);
+        assertTrue(source.contains("private void wrapMembers(int count)"));
+        assertTrue(source.contains("wrapMembers(1);\n    checkLimit(limit(), maxLimit);"));
+        assertTrue(source.contains("return labelRO.limit() + FIELD_OFFSET_TAIL + 2;"));
+
+        File classes = compile(output);
+
+        MutableDirectBuffer buffer = new UnsafeBuffer(new byte[64]);
+        buffer.putInt(0, 11);
+        buffer.putByte(4, (byte) 2);
+        buffer.putBytes(5, "ab".getBytes(UTF_8));
+        buffer.putShort(7, (short) 13);
+        buffer.putBytes(9, "cd".getBytes(UTF_8));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toURI().toURL() }, getClass().getClassLoader()))
+        {
+            Class<?> pointType = loader.loadClass("org.example.types.PointFW");
+            Object point = pointType.getConstructor().newInstance();
+
+            assertNull(pointType.getMethod("tryWrap", DirectBuffer.class, int.class, int.class).invoke(point, buffer, 0, 5));
+
+            try
+            {
+                pointType.getMethod("wrap", DirectBuffer.class, int.class, int.class).invoke(point, buffer, 0, 10);
+                fail("limit beyond maxLimit");
+            }
+            catch (InvocationTargetException ex)
+            {
+                assertTrue(ex.getCause() instanceof IndexOutOfBoundsException);
+            }
+
+            pointType.getMethod("wrap", DirectBuffer.class, int.class, int.class).invoke(point, buffer, 0, buffer.capacity());
+            assertEquals(13, pointType.getMethod("y").invoke(point));
+            assertEquals("ab", asString(pointType.getMethod("label").invoke(point)));
+            assertEquals(11, pointType.getMethod("limit").invoke(point));
+            Object tail = pointType.getMethod("tail").invoke(point);
+            assertEquals(2, tail.getClass().getMethod("sizeof").invoke(tail));
+        }
+    }
+
+    private File compile(
+        File output) throws IOException, InterruptedException
+    {
+        File classes = folder.newFolder("classes");
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "javac").toString());
+        command.addAll(asList("-d", classes.getPath(), "-cp", System.getProperty("java.class.path")));
+        try (Stream<Path> sources = Files.walk(output.toPath()))
+        {
+            sources.map(Path::toString).filter(f -> f.endsWith(".java")).forEach(command::add);
+        }
+        Process javac = new ProcessBuilder(command).inheritIO().start();
+        assertEquals(0, javac.waitFor());
+        return classes;
+    }
+
+    private static Generator newGenerator(
+        File input,
+        File output,
+        List<String> messages)
+    {
+        Generator generator = new Generator();
+        generator.debug(messages::add);
+        generator.setScopeNames("root b");
+        generator.setPackageName("org.example.types");
+        generator.setInputDirectory(input);
+        generator.setOutputDirectory(output);
+        return generator;
+    }
+
+    private static void awaitMessage(
+        List<String> messages,
+        String suffix) throws InterruptedException
+    {
+        for (long deadline = System.currentTimeMillis() + 10000L;
+             messages.stream().noneMatch(m -> m.endsWith(suffix)) && System.currentTimeMillis() < deadline;)
+        {
+            Thread.sleep(50L);
+        }
+    }
+
+    private static ClassLoader newLoader(
+        File input) throws IOException
+    {
+        return new URLClassLoader(new URL[] { input.toURI().toURL() }, null);
+    }
+
+    private static String asString(
+        Object string) throws ReflectiveOperationException
+    {
+        return (String) string.getClass().getMethod("asString").invoke(string);
+    }
+
+    private static void writeIdl(
+        File directory,
+        String scope,
+        String content) throws IOException
+    {
+        Files.write(new File(directory, scope + ".idl").toPath(), content.getBytes(UTF_8));
+    }
+}
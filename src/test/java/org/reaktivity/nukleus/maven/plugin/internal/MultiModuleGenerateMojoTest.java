@@ -0,0 +1,141 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.testing.MojoRule;
+import org.apache.maven.project.MavenProject;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class MultiModuleGenerateMojoTest
+{
+    private static final String[] MODULES = { "module-a", "module-b" };
+    private static final int EXECUTIONS_PER_MODULE = 4;
+
+    @Rule
+    public MojoRule rule = new MojoRule();
+
+    @Test
+    public void shouldGenerateModulesConcurrently() throws Exception
+    {
+        List<Path> expectedPaths = new ArrayList<>();
+        for (String module : MODULES)
+        {
+            Path expectedPath = Paths.get("target/generated-test-sources/test-multimodule-sequential", module);
+            newMojo(module, expectedPath).execute();
+            expectedPaths.add(expectedPath);
+        }
+
+        int executions = MODULES.length * EXECUTIONS_PER_MODULE;
+        List<GenerateMojo> mojos = new ArrayList<>();
+        List<Path> actualPaths = new ArrayList<>();
+        for (int i = 0; i < executions; i++)
+        {
+            String module = MODULES[i % MODULES.length];
+            Path actualPath = Paths.get("target/generated-test-sources/test-multimodule-concurrent", module + "-" + i);
+            mojos.add(newMojo(module, actualPath));
+            actualPaths.add(actualPath);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(executions);
+        try
+        {
+            CyclicBarrier barrier = new CyclicBarrier(executions);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (GenerateMojo mojo : mojos)
+            {
+                Callable<Void> task = () ->
+                {
+                    barrier.await();
+                    mojo.execute();
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+
+            for (Future<Void> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < executions; i++)
+        {
+            Path expectedPath = expectedPaths.get(i % MODULES.length);
+            Path actualPath = actualPaths.get(i);
+            List<Path> expectedSources = listSources(expectedPath);
+            assertFalse(expectedSources.isEmpty());
+            assertEquals(expectedSources, listSources(actualPath));
+            for (Path source : expectedSources)
+            {
+                assertArrayEquals(Files.readAllBytes(expectedPath.resolve(source)),
+                    Files.readAllBytes(actualPath.resolve(source)));
+            }
+        }
+    }
+
+    private GenerateMojo newMojo(
+        String module,
+        Path outputPath) throws Exception
+    {
+        File baseDir = new File("src/test/resources/test-multimodule", module);
+        MavenProject project = rule.readMavenProject(baseDir);
+        GenerateMojo mojo = (GenerateMojo) rule.lookupConfiguredMojo(project, "generate");
+        assertNotNull(mojo);
+        rule.setVariableValueToObject(mojo, "inputDirectory", baseDir);
+        rule.setVariableValueToObject(mojo, "outputDirectory", outputPath.toFile());
+        rule.setVariableValueToObject(mojo, "astCacheDirectory", null);
+        rule.setVariableValueToObject(mojo, "reportDirectory", null);
+        rule.setVariableValueToObject(mojo, "force", true);
+        rule.setVariableValueToObject(mojo, "parallelism", 2);
+        return mojo;
+    }
+
+    private static List<Path> listSources(
+        Path directory) throws Exception
+    {
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            return paths.filter(Files::isRegularFile)
+                .map(directory::relativize)
+                .sorted()
+                .collect(toList());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
+
+public class ParserTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldResolveReferencedScopesConcurrentlyInStableOrder() throws Exception
+    {
+        File directory = folder.getRoot();
+        writeIdl(directory, "root", "scope root { struct R extends a::A { uint8 r; } struct S extends b::B { uint8 s; } }");
+        writeIdl(directory, "a", "scope a { struct A extends c::C { uint8 a; } }");
+        writeIdl(directory, "b", "scope b { struct B extends c::C { uint8 b; } }");
+        writeIdl(directory, "c", "scope c { struct C { uint8 c; } }");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null))
+        {
+            List<AstSpecificationNode> sequential = new Parser().parseAST(singletonList("root"), loader);
+            List<AstSpecificationNode> concurrent = new Parser().parallelism(4).parseAST(singletonList("root"), loader);
+
+            assertEquals(4, sequential.size());
+            assertEquals("root", sequential.get(0).scope().name());
+            assertEquals("c", sequential.get(3).scope().name());
+            assertEquals(scopeNames(sequential), scopeNames(concurrent));
+            assertEquals(sequential, concurrent);
+        }
+    }
+
+    @Test
+    public void shouldPreferPublishedSchemaOnlyForMatchingIdl() throws Exception
+    {
+        File published = folder.newFolder("published");
+        writeIdl(published, "a", "scope a { struct P { uint8 p; } }");
+
+        AstSpecificationNode schema;
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { published.toURI().toURL() }, null))
+        {
+            schema = new Parser().parseAST(singletonList("a"), loader).get(0);
+        }
+
+        File directory = folder.newFolder("resources");
+        writeIdl(directory, "a", "scope a { struct A { uint8 a; } }");
+        String digest = Digests.sha256(Files.readAllBytes(new File(directory, "a.idl").toPath()));
+        PublishedSchema.write(new File(directory, "a.ast").toPath(), digest, schema);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null))
+        {
+            assertEquals(schema, new Parser().parseAST(singletonList("a"), loader).get(0));
+
+            writeIdl(directory, "a", "scope a { struct A { uint16 a; } }");
+            assertNotEquals(schema, new Parser().parseAST(singletonList("a"), loader).get(0));
+        }
+    }
+
+    @Test
+    public void shouldRejectPublishedSchemaFromDifferentPlugin() throws Exception
+    {
+        File directory = folder.getRoot();
+        writeIdl(directory, "a", "scope a { struct A { uint8 a; } }");
+        String digest = Digests.sha256(Files.readAllBytes(new File(directory, "a.idl").toPath()));
+        File schemaFile = new File(directory, "a.ast");
+
+        AstSpecificationNode schema;
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null))
+        {
+            schema = new Parser().parseAST(singletonList("a"), loader).get(0);
+        }
+        PublishedSchema.write(schemaFile.toPath(), digest, schema);
+        String content = new String(Files.readAllBytes(schemaFile.toPath()), ISO_8859_1);
+        String plugin = Digests.plugin();
+        String other = (plugin.charAt(0) == '0' ? "1" : "0") + plugin.substring(1);
+        Files.write(schemaFile.toPath(), content.replace(plugin, other).getBytes(ISO_8859_1));
+
+        List<String> messages = new CopyOnWriteArrayList<>();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null))
+        {
+            Parser parser = new Parser().debug(messages::add);
+            assertEquals(schema, parser.parseAST(singletonList("a"), loader).get(0));
+        }
+        assertTrue(messages.toString(), messages.stream()
+            .anyMatch(m -> m.startsWith("published schema rejected: ") && m.endsWith("written by a different plugin build")));
+    }
+
+    private static List<String> scopeNames(
+        List<AstSpecificationNode> specifications)
+    {
+        return specifications.stream().map(s -> s.scope().name()).collect(toList());
+    }
+
+    private static void writeIdl(
+        File directory,
+        String scopeName,
+        String content) throws Exception
+    {
+        Files.write(new File(directory, scopeName + ".idl").toPath(), content.getBytes(UTF_8));
+    }
+}
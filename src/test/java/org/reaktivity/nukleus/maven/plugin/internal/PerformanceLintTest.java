@@ -0,0 +1,114 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.reaktivity.nukleus.maven.plugin.internal.PerformanceLint.ANCHORED_FIXED_MEMBER;
+import static org.reaktivity.nukleus.maven.plugin.internal.PerformanceLint.OVERSIZED_LIST_HEADER;
+import static org.reaktivity.nukleus.maven.plugin.internal.PerformanceLint.UINT24_MEMBER;
+import static org.reaktivity.nukleus.maven.plugin.internal.PerformanceLint.VARIANT_REBUILD;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reaktivity.nukleus.maven.plugin.internal.PerformanceLint.Finding;
+import org.reaktivity.nukleus.maven.plugin.internal.PerformanceLint.Severity;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
+
+public class PerformanceLintTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldReportCostlyLayouts() throws Exception
+    {
+        List<AstSpecificationNode> specifications = parse(
+            "scope lint\n" +
+            "{\n" +
+            "    scope inner\n" +
+            "    {\n" +
+            "        enum Kind (uint8) { ONE (1), TWO (2) }\n" +
+            "        struct Header { uint8 kind; string8 name; uint32 length; uint24 flags; }\n" +
+            "        struct Compact { uint32 length; uint16 flags; string8 name; }\n" +
+            "        list<uint32, uint32> Small { required uint8 a; uint16 b = 0; }\n" +
+            "        list<uint8, uint8> Tiny { required uint8 a; }\n" +
+            "        variant Text switch (Kind) of string { case ONE: string8; case TWO: string16; }\n" +
+            "        variant Name switch (uint8) of string { case 1: string8; case 2: string16; }\n" +
+            "    }\n" +
+            "}\n");
+
+        List<Finding> findings = new PerformanceLint("*=warn").lint(specifications);
+
+        List<String> messages = findings.stream().map(Finding::toString).collect(toList());
+        assertEquals(messages.toString(),
+            Arrays.asList(ANCHORED_FIXED_MEMBER, UINT24_MEMBER, VARIANT_REBUILD, OVERSIZED_LIST_HEADER),
+            findings.stream().map(Finding::rule).collect(toList()));
+        assertTrue(messages.get(0), messages.get(0).contains("lint::inner::Header"));
+        assertTrue(messages.get(0), messages.get(0).contains("[length, flags]"));
+        assertTrue(messages.get(2), messages.get(2).contains("lint::inner::Text"));
+        assertTrue(messages.get(2), messages.get(2).contains("array build() rebuilds items when their kinds differ"));
+        assertTrue(messages.get(3), messages.get(3).contains("lint::inner::Small"));
+        assertTrue(findings.stream().allMatch(f -> f.severity() == Severity.WARN));
+    }
+
+    @Test
+    public void shouldConfigureSeverityPerScope() throws Exception
+    {
+        PerformanceLint lint = new PerformanceLint(
+            "uint24-member=warn, lint/*=error\n lint::inner/uint24-member=off lint::inner::deep/*=warn");
+
+        assertTrue(lint.isEnabled());
+        assertEquals(Severity.WARN, lint.severity("other", UINT24_MEMBER));
+        assertEquals(Severity.OFF, lint.severity("other", VARIANT_REBUILD));
+        assertEquals(Severity.ERROR, lint.severity("lint", UINT24_MEMBER));
+        assertEquals(Severity.OFF, lint.severity("lint::inner", UINT24_MEMBER));
+        assertEquals(Severity.ERROR, lint.severity("lint::inner", VARIANT_REBUILD));
+        assertEquals(Severity.WARN, lint.severity("lint::inner::deep", UINT24_MEMBER));
+        assertFalse(new PerformanceLint("").isEnabled());
+        assertFalse(new PerformanceLint("*=off").isEnabled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnrecognizedRule()
+    {
+        new PerformanceLint("string-before-fixed=warn");
+    }
+
+    private List<AstSpecificationNode> parse(
+        String idl) throws Exception
+    {
+        File directory = folder.getRoot();
+        Files.write(new File(directory, "lint.idl").toPath(), idl.getBytes(UTF_8));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { directory.toURI().toURL() }, null))
+        {
+            return new Parser().parseAST(singletonList("lint"), loader);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResourceIndexTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldIndexDirectoriesAndArchivesInOrder() throws Exception
+    {
+        File directory = folder.newFolder("idl");
+        Files.write(new File(directory, "a.idl").toPath(), "scope a { }".getBytes(UTF_8));
+        File classes = folder.newFolder("classes");
+        File meta = new File(classes, "META-INF/reaktivity");
+        assertTrue(meta.mkdirs());
+        Files.write(new File(meta, "a.idl").toPath(), "scope a { }".getBytes(UTF_8));
+        File archive = writeArchive("b.jar", "META-INF/reaktivity/b.idl", "scope b { }");
+
+        List<String> warnings = new ArrayList<>();
+        ResourceIndex index = new ResourceIndex(warnings::add)
+                .addDirectory(directory)
+                .addClasspathElement(classes)
+                .addClasspathElement(archive)
+                .addClasspathElement(new File(folder.getRoot(), "missing.jar"));
+
+        assertEquals(2, index.size());
+        assertEquals(new File(directory, "a.idl").toURI().toURL(), index.lookup("a.idl"));
+        assertNull(index.lookup("c.idl"));
+        assertTrue(warnings.isEmpty());
+
+        ClassLoader loader = index.newClassLoader(null);
+        URL resource = loader.getResource("b.idl");
+        assertEquals("jar", resource.getProtocol());
+        assertArrayEquals("scope b { }".getBytes(UTF_8), Parser.readResource(resource));
+    }
+
+    @Test
+    public void shouldWarnOnAmbiguousResources() throws Exception
+    {
+        File directory = folder.newFolder("idl");
+        Files.write(new File(directory, "a.idl").toPath(), "scope a { struct A { uint8 a; } }".getBytes(UTF_8));
+        File archive = writeArchive("a.jar", "META-INF/reaktivity/a.idl", "scope a { }");
+
+        List<String> warnings = new ArrayList<>();
+        ResourceIndex index = new ResourceIndex(warnings::add)
+                .addDirectory(directory)
+                .addClasspathElement(archive);
+
+        assertEquals(new File(directory, "a.idl").toURI().toURL(), index.lookup("a.idl"));
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).startsWith("Ambiguous resource a.idl"));
+    }
+
+    private File writeArchive(
+        String archiveName,
+        String entryName,
+        String content) throws IOException
+    {
+        File archive = new File(folder.getRoot(), archiveName);
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(archive)))
+        {
+            zip.putNextEntry(new ZipEntry(entryName));
+            zip.write(content.getBytes(UTF_8));
+            zip.closeEntry();
+        }
+        return archive;
+    }
+}
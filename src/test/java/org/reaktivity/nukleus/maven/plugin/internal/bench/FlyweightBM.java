@@ -39,8 +39,10 @@ import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.reaktivity.reaktor.internal.test.types.Array32FW;
 import org.reaktivity.reaktor.internal.test.types.inner.FlatFW;
 import org.reaktivity.reaktor.internal.test.types.inner.FlatWithOctetsFW;
+import org.reaktivity.reaktor.internal.test.types.inner.VariantEnumKindOfStringFW;
 
 @State(Scope.Benchmark)
 @BenchmarkMode(Mode.Throughput)
@@ -50,7 +52,10 @@ import org.reaktivity.reaktor.internal.test.types.inner.FlatWithOctetsFW;
 @OutputTimeUnit(SECONDS)
 public class FlyweightBM
 {
+    private static final int ARRAY_ITEMS = 1024;
+
     private MutableDirectBuffer buffer;
+    private MutableDirectBuffer arrayBuffer;
     private MutableDirectBuffer values;
     private long iterations;
 
@@ -60,6 +65,9 @@ public class FlyweightBM
     private FlatWithOctetsFW.Builder flatWithOctetsRW = new FlatWithOctetsFW.Builder();
     private FlatWithOctetsFW flatWithOctetsRO = new FlatWithOctetsFW();
 
+    private Array32FW.Builder<VariantEnumKindOfStringFW.Builder, VariantEnumKindOfStringFW> arrayRW =
+        new Array32FW.Builder<>(new VariantEnumKindOfStringFW.Builder(), new VariantEnumKindOfStringFW());
+
     @Setup(Level.Trial)
     public void init()
     {
@@ -67,6 +75,7 @@ public class FlyweightBM
         this.buffer.setMemory(0, 1024, (byte) new Random().nextInt(256));
         this.values = new UnsafeBuffer(allocateDirect(1024).order(nativeOrder()));
         this.values.setMemory(0, 1024, (byte) new Random().nextInt(256));
+        this.arrayBuffer = new UnsafeBuffer(allocateDirect(ARRAY_ITEMS * 64).order(nativeOrder()));
         iterations = 0;
     }
 
@@ -130,6 +139,32 @@ public class FlyweightBM
         return flatWithOctetsRO.wrap(buffer, 0, buffer.capacity()).fixed1();
     }
 
+    @Benchmark
+    public int array32OfVariantItems(
+        final Control control) throws Exception
+    {
+        arrayRW.wrap(arrayBuffer, 0, arrayBuffer.capacity());
+        for (int i = 0; i < ARRAY_ITEMS; i++)
+        {
+            final int offset = i & 0xff;
+            arrayRW.item(b -> b.set(values, offset, 10));
+        }
+        return arrayRW.build().limit();
+    }
+
+    @Benchmark
+    public int array32OfVariantItemsRebuilt(
+        final Control control) throws Exception
+    {
+        arrayRW.wrap(arrayBuffer, 0, arrayBuffer.capacity());
+        for (int i = 0; i < ARRAY_ITEMS; i++)
+        {
+            final int offset = i & 0xff;
+            arrayRW.item(b -> b.setAsString32(values, offset, 10));
+        }
+        return arrayRW.build().limit();
+    }
+
     public static void main(
         String[] args) throws RunnerException
     {
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal.bench;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.AstSpecificationNode;
+import org.reaktivity.nukleus.maven.plugin.internal.ast.parse.AstParser;
+import org.reaktivity.nukleus.maven.plugin.internal.parser.NukleusLexer;
+import org.reaktivity.nukleus.maven.plugin.internal.parser.NukleusParser;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 3, time = 3, timeUnit = SECONDS)
+@OutputTimeUnit(MILLISECONDS)
+public class ParserBM
+{
+    @Param({ "SLL", "LL" })
+    private String predictionMode;
+
+    @Param({ "64" })
+    private int scopes;
+
+    private String idl;
+
+    @Setup(Level.Trial)
+    public void init()
+    {
+        // roughly 25KB per scope, so the default yields a multi-megabyte specification
+        this.idl = new SyntheticIdl("synthetic")
+                .scopes(scopes)
+                .structs(64)
+                .fields(8)
+                .build();
+    }
+
+    @Benchmark
+    public AstSpecificationNode parse() throws Exception
+    {
+        CharStream chars = CharStreams.fromString(idl);
+        NukleusLexer lexer = new NukleusLexer(chars);
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        NukleusParser parser = new NukleusParser(tokens);
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.removeErrorListeners();
+        parser.getInterpreter().setPredictionMode(PredictionMode.valueOf(predictionMode));
+        return new AstParser().visitSpecification(parser.specification());
+    }
+
+    public static void main(
+        String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(ParserBM.class.getSimpleName())
+                .forks(0)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2016-2020 The Reaktivity Project
+ *
+ * The Reaktivity Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.reaktivity.nukleus.maven.plugin.internal.bench;
+
+public final class SyntheticIdl
+{
+    private static final String[] FIELD_TYPES =
+    {
+        "uint8", "uint16", "uint32", "int64", "string8", "string16", "octets[8]"
+    };
+
+    private static final String[] VARIANT_TYPES =
+    {
+        "int32", "int16", "int8"
+    };
+
+    private final String name;
+
+    private int scopes = 1;
+    private int structs = 8;
+    private int fields = 8;
+    private int listMembers = 2;
+    private int variantCases = 4;
+
+    public SyntheticIdl(
+        String name)
+    {
+        this.name = name;
+    }
+
+    public SyntheticIdl scopes(
+        int scopes)
+    {
+        this.scopes = scopes;
+        return this;
+    }
+
+    public SyntheticIdl structs(
+        int structs)
+    {
+        this.structs = structs;
+        return this;
+    }
+
+    public SyntheticIdl fields(
+        int fields)
+    {
+        this.fields = fields;
+        return this;
+    }
+
+    public SyntheticIdl listMembers(
+        int listMembers)
+    {
+        this.listMembers = listMembers;
+        return this;
+    }
+
+    public SyntheticIdl variantCases(
+        int variantCases)
+    {
+        this.variantCases = variantCases;
+        return this;
+    }
+
+    public String build()
+    {
+        StringBuilder idl = new StringBuilder();
+        idl.append("scope ").append(name).append("\n{\n");
+        for (int s = 0; s < scopes; s++)
+        {
+            String scopeName = String.format("%sScope%d", name, s);
+            idl.append("    scope ").append(scopeName).append("\n    {\n");
+            idl.append("        enum Kind (uint8)\n        {\n");
+            idl.append("            ONE (1),\n            TWO (2),\n            THREE (3)\n        }\n\n");
+            idl.append("        variant Number switch (uint8) of int64\n        {\n");
+            for (int c = 0; c < variantCases; c++)
+            {
+                idl.append("            case ").append(c + 1).append(": ")
+                   .append(c < VARIANT_TYPES.length ? VARIANT_TYPES[c] : Integer.toString(c - VARIANT_TYPES.length))
+                   .append(";\n");
+            }
+            idl.append("        }\n\n");
+            idl.append("        union Choice switch (uint8)\n        {\n");
+            idl.append("            case 1: uint32 value;\n            case 2: string8 text;\n        }\n\n");
+            idl.append("        list<uint32, uint32> Items\n        {\n");
+            idl.append("            required string8 name;\n");
+            for (int m = 1; m < listMembers; m++)
+            {
+                idl.append("            uint32 member").append(m).append(" = ").append(m).append(";\n");
+            }
+            idl.append("        }\n\n");
+            for (int t = 0; t < structs; t++)
+            {
+                idl.append("        struct Struct").append(t);
+                if (t % 2 == 1)
+                {
+                    idl.append(" extends ").append(scopeName).append("::Struct").append(t - 1);
+                }
+                idl.append("\n        {\n");
+                for (int f = 0; f < fields; f++)
+                {
+                    idl.append("            ").append(FIELD_TYPES[(t + f) % FIELD_TYPES.length])
+                       .append(" field").append(t).append('_').append(f).append(";\n");
+                }
+                idl.append("            Kind kind").append(t).append(";\n");
+                idl.append("            Number number").append(t).append(";\n");
+                idl.append("            Items items").append(t).append(";\n");
+                idl.append("        }\n\n");
+            }
+            idl.append("    }\n");
+        }
+        idl.append("}\n");
+        return idl.toString();
+    }
+}
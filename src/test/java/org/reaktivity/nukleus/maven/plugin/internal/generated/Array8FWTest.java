@@ -18,9 +18,11 @@ package org.reaktivity.nukleus.maven.plugin.internal.generated;
 import static java.nio.ByteBuffer.allocateDirect;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -207,6 +209,30 @@ public class Array8FWTest
         assertAllTestValuesReadCaseVariantItems(array, 0);
     }
 
+    @Test
+    public void shouldSkipRebuildWhenVariantItemsSetAtFinalWidth() throws Exception
+    {
+        VariantEnumKindOfStringFW.Builder itemRW = new VariantEnumKindOfStringFW.Builder();
+        Array8FW.Builder<VariantEnumKindOfStringFW.Builder, VariantEnumKindOfStringFW> flyweightRW =
+            new Array8FW.Builder<>(itemRW, new VariantEnumKindOfStringFW());
+
+        flyweightRW.wrap(buffer, 0, buffer.capacity())
+            .item(b -> b.setAsString32(asStringFW("symbolA")))
+            .item(b -> b.setAsString32(asStringFW("symbolB")));
+        assertTrue(itemRW.needsRebuild(Byte.BYTES + "symbolA".length()));
+
+        flyweightRW.wrap(buffer, 0, buffer.capacity())
+            .item(b -> b.set(asStringFW("symbolA")))
+            .item(b -> b.set(asStringFW("symbolB")));
+        assertFalse(itemRW.needsRebuild(Byte.BYTES + "symbolA".length()));
+
+        int limit = flyweightRW.build().limit();
+
+        final Array8FW<VariantEnumKindOfStringFW> array = flyweightRO.wrap(buffer,  0,  limit);
+
+        assertAllTestValuesReadCaseVariantItems(array, 0);
+    }
+
     private static StringFW asStringFW(
         String value)
     {
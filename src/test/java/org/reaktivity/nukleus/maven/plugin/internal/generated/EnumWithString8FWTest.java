@@ -28,6 +28,7 @@ import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.reaktivity.reaktor.internal.test.types.String8FW;
 import org.reaktivity.reaktor.internal.test.types.inner.EnumWithString;
 import org.reaktivity.reaktor.internal.test.types.inner.EnumWithStringFW;
 
@@ -143,6 +144,25 @@ public class EnumWithString8FWTest
         assertNull(flyweightRO.get());
     }
 
+    @Test
+    public void shouldResolveEachValueFromString8FW() throws Exception
+    {
+        for (EnumWithString value : EnumWithString.values())
+        {
+            String8FW string = new String8FW.Builder().wrap(buffer, 10, buffer.capacity()).set(value.value(), UTF_8).build();
+            assertEquals(value, EnumWithString.valueOf(string));
+        }
+    }
+
+    @Test
+    public void shouldNotResolveUnknownOrNullValueFromString8FW() throws Exception
+    {
+        assertNull(EnumWithString.valueOf(new String8FW("bleu")));
+        assertNull(EnumWithString.valueOf(new String8FW("green")));
+        assertNull(EnumWithString.valueOf(new String8FW("puce")));
+        assertNull(EnumWithString.valueOf(new String8FW(null)));
+    }
+
     @Test
     public void shouldSetUsingEnum()
     {
@@ -19,11 +19,11 @@ import static java.nio.ByteBuffer.allocateDirect;
 import static org.agrona.BufferUtil.NATIVE_BYTE_ORDER;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.nio.ByteOrder;
-import java.util.Arrays;
 
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -114,12 +114,56 @@ public class FlyweightTest
         assertTrue(zis.equals(zat));
     }
 
+    @Test
+    public void shouldReturnTrueFromEqualsAcrossWords() throws Exception
+    {
+        buffer.putStringWithoutLengthUtf8(1, "abcdefghijklmnopqrs");
+        buffer.putStringWithoutLengthUtf8(40, "abcdefghijklmnopqrs");
+        Flyweight zis = new TestFlyweight().wrap(buffer,  1,  20);
+        Flyweight zat = new TestFlyweight().wrap(buffer,  40,  59);
+        assertTrue(zis.equals(zat));
+    }
+
+    @Test
+    public void shouldReturnFalseFromEqualsWithDifferentContentInTail() throws Exception
+    {
+        buffer.putStringWithoutLengthUtf8(1, "abcdefghijklmnopqrs");
+        buffer.putStringWithoutLengthUtf8(40, "abcdefghijklmnopqrt");
+        Flyweight zis = new TestFlyweight().wrap(buffer,  1,  20);
+        Flyweight zat = new TestFlyweight().wrap(buffer,  40,  59);
+        assertFalse(zis.equals(zat));
+    }
+
     @Test
     public void shouldReturnHashCode() throws Exception
     {
         buffer.putStringWithoutLengthUtf8(0, "asdf");
         Flyweight flyweight = new TestFlyweight().wrap(buffer,  0,  4);
-        assertEquals(Arrays.hashCode("asdf".getBytes()), flyweight.hashCode());
+        long hash = flyweight.hashCode64();
+        assertEquals((int) (hash ^ hash >>> 32), flyweight.hashCode());
+    }
+
+    @Test
+    public void shouldReturnSameHashCodeForSameContent() throws Exception
+    {
+        buffer.putStringWithoutLengthUtf8(1, "abcdefghijklmnopqrs");
+        buffer.putStringWithoutLengthUtf8(40, "abcdefghijklmnopqrs");
+        Flyweight zis = new TestFlyweight().wrap(buffer,  1,  20);
+        Flyweight zat = new TestFlyweight().wrap(buffer,  40,  59);
+        assertEquals(zis.hashCode64(), zat.hashCode64());
+        assertEquals(zis.hashCode(), zat.hashCode());
+    }
+
+    @Test
+    public void shouldReturnDifferentHashCodeForDifferentContent() throws Exception
+    {
+        buffer.putStringWithoutLengthUtf8(1, "abcdefghijklmnopqrs");
+        buffer.putStringWithoutLengthUtf8(40, "abcdefghijklmnopqrt");
+        Flyweight zis = new TestFlyweight().wrap(buffer,  1,  20);
+        Flyweight zat = new TestFlyweight().wrap(buffer,  40,  59);
+        Flyweight prefix = new TestFlyweight().wrap(buffer,  1,  19);
+        assertNotEquals(zis.hashCode64(), zat.hashCode64());
+        assertNotEquals(zis.hashCode64(), prefix.hashCode64());
     }
 
     public static void putMediumInt(
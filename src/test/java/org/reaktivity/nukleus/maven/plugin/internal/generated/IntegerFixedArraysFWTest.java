@@ -225,6 +225,21 @@ public class IntegerFixedArraysFWTest
         assertAllTestValuesRead(flyweightRO);
     }
 
+    @Test
+    public void shouldReuseIteratorsWhenRewrapped() throws Exception
+    {
+        setAllTestValues(buffer, 1);
+        flyweightRO.wrap(buffer, 1, buffer.capacity());
+        PrimitiveIterator.OfInt uint8Array = flyweightRO.uint8Array();
+        PrimitiveIterator.OfLong int64Array = flyweightRO.int64Array();
+
+        setAllTestValues(buffer, 5);
+        flyweightRO.wrap(buffer, 5, buffer.capacity());
+        assertSame(uint8Array, flyweightRO.uint8Array());
+        assertSame(int64Array, flyweightRO.int64Array());
+        assertAllTestValuesRead(flyweightRO);
+    }
+
     @Test(expected = IndexOutOfBoundsException.class)
     public void shouldFailToSetUint16ArrayBeyondLimit()
     {
@@ -346,6 +346,20 @@ public class String16FWTest
         assertEquals("value1", stringRO.value().getStringWithoutLengthUtf8(0, stringRO.value().capacity()));
     }
 
+    @Test
+    public void shouldSetUsingCharSequence() throws Exception
+    {
+        String value = "h\u00e9llo \u20ac \ud83d\ude00 \ud800";
+        int limit = stringRW.wrap(buffer, 0, buffer.capacity())
+                .set(new StringBuilder(value))
+                .build()
+                .limit();
+        byte[] expected = value.getBytes(UTF_8);
+        stringRO.wrap(buffer,  0,  limit);
+        assertEquals(expected.length + LENGTH_SIZE, stringRO.limit());
+        assertEquals(new String(expected, UTF_8), stringRO.asString());
+    }
+
     @Test
     public void shouldSetUsingBuffer() throws Exception
     {
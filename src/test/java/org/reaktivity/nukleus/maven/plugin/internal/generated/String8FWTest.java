@@ -301,6 +301,36 @@ public class String8FWTest
         assertEquals("value1", stringRO.value().getStringWithoutLengthUtf8(0, stringRO.value().capacity()));
     }
 
+    @Test
+    public void shouldSetUsingCharSequence() throws Exception
+    {
+        String value = "h\u00e9llo \u20ac \ud83d\ude00 \ud800";
+        int limit = stringRW.wrap(buffer, 0, buffer.capacity())
+                .set(new StringBuilder(value))
+                .build()
+                .limit();
+        byte[] expected = value.getBytes(UTF_8);
+        stringRO.wrap(buffer,  0,  limit);
+        assertEquals(expected.length + LENGTH_SIZE, stringRO.limit());
+        assertEquals(new String(expected, UTF_8), stringRO.asString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldFailToSetUsingCharSequenceWhenExceedsMaxLimit()
+    {
+        buffer.setMemory(0,  buffer.capacity(), (byte) 0x00);
+        try
+        {
+            stringRW.wrap(buffer, 10, 10 + LENGTH_SIZE + 2)
+                .set("a\u20ac");
+        }
+        finally
+        {
+            // Make sure memory was not written beyond maxLimit
+            assertEquals(0, buffer.getByte(10 + LENGTH_SIZE + 2));
+        }
+    }
+
     @Test
     public void shouldSetUsingBuffer() throws Exception
     {